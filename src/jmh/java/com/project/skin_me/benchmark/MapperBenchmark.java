@@ -0,0 +1,145 @@
+package com.project.skin_me.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.skin_me.dto.OrderDto;
+import com.project.skin_me.dto.PopularProductDto;
+import com.project.skin_me.dto.ProductDto;
+import com.project.skin_me.dto.UserDto;
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.mapper.OrderMapper;
+import com.project.skin_me.mapper.PopularProductMapper;
+import com.project.skin_me.mapper.ProductMapper;
+import com.project.skin_me.mapper.UserMapper;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.OrderItem;
+import com.project.skin_me.model.PopularProduct;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.model.Role;
+import com.project.skin_me.model.User;
+
+/**
+ * Entity to DTO conversion per DTO type, through the hand-written mappers and through ModelMapper as the
+ * services used it. Add {@code -prof gc} to the JMH arguments for the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ProductMapper productMapper = new ProductMapper();
+    private final OrderMapper orderMapper = new OrderMapper();
+    private final UserMapper userMapper = new UserMapper();
+    private final PopularProductMapper popularProductMapper = new PopularProductMapper();
+
+    private Product product;
+    private Order order;
+    private User user;
+    private PopularProduct popularProduct;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category("Face");
+        category.setId(1L);
+        product = new Product("Hydrating Serum", "Lumi", BigDecimal.valueOf(24), "Serum", 40,
+                "Hyaluronic acid for dry skin", "Apply at night", category);
+        product.setId(7L);
+
+        user = new User();
+        user.setId(3L);
+        user.setFirstName("Sok");
+        user.setLastName("Dara");
+        user.setEmail("dara@example.com");
+        user.setRegistrationDate(LocalDateTime.now());
+        user.getRoles().add(new Role("ROLE_USER"));
+
+        order = new Order();
+        order.setOrderId(11L);
+        order.setOrderDate(LocalDate.now());
+        order.setOrderTotalAmount(BigDecimal.valueOf(72));
+        order.setOrderStatus(OrderStatus.PAID);
+        order.setUser(user);
+        for (int i = 0; i < 3; i++) {
+            OrderItem item = new OrderItem(order, product, i + 1, BigDecimal.valueOf(24));
+            item.setId((long) i);
+            order.getOrderItems().add(item);
+        }
+
+        popularProduct = new PopularProduct();
+        popularProduct.setQuantitySold(120);
+        popularProduct.setLastPurchasedDate(LocalDateTime.now());
+        popularProduct.setProduct(product);
+
+        // ModelMapper builds its type maps on first use; the services always ran with them warm
+        modelMapper.typeMap(Product.class, ProductDto.class)
+                .addMappings(mapper -> mapper.skip(ProductDto::setImages));
+        modelMapperProduct();
+        modelMapperOrder();
+        modelMapperUser();
+        modelMapperPopularProduct();
+    }
+
+    @Benchmark
+    public ProductDto mapperProduct() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public ProductDto modelMapperProduct() {
+        return modelMapper.map(product, ProductDto.class);
+    }
+
+    @Benchmark
+    public OrderDto mapperOrder() {
+        return orderMapper.toDto(order);
+    }
+
+    @Benchmark
+    public OrderDto modelMapperOrder() {
+        return modelMapper.map(order, OrderDto.class);
+    }
+
+    @Benchmark
+    public UserDto mapperUser() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public UserDto modelMapperUser() {
+        return modelMapper.map(user, UserDto.class);
+    }
+
+    @Benchmark
+    public PopularProductDto mapperPopularProduct() {
+        return popularProductMapper.toDto(popularProduct);
+    }
+
+    @Benchmark
+    public PopularProductDto modelMapperPopularProduct() {
+        PopularProductDto dto = modelMapper.map(popularProduct, PopularProductDto.class);
+        dto.setName(product.getName());
+        dto.setPrice(product.getPrice());
+        dto.setBrand(product.getBrand());
+        return dto;
+    }
+}
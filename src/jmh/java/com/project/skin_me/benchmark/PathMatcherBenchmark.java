@@ -0,0 +1,75 @@
+package com.project.skin_me.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.skin_me.security.PathPrefixMatcher;
+
+/**
+ * Skip-list checks over a mix of request paths like the storefront's: static assets, catalogue and cart API
+ * calls, pages and docs. Each benchmark tests every path once. {@code skipListStream} is what AuthTokenFilter
+ * and UserActivityFilter used to do, {@code skipListTrie} is PathPrefixMatcher doing the same.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathMatcherBenchmark {
+
+    private static final String[] PATHS = {
+            "/css/main.css",
+            "/js/app.js",
+            "/images/products/42.jpg",
+            "/api/v1/products/product/42/product",
+            "/api/v1/products/search?q=serum",
+            "/api/v1/carts/my-cart",
+            "/api/v1/cartItems/item/add",
+            "/api/v1/orders/user/3/orders",
+            "/dashboard",
+            "/views/products",
+            "/api/v1/auth/login",
+            "/swagger-ui/index.html",
+            "/"
+    };
+
+    private static final List<String> SKIP_LIST = List.of(
+            "/v3/api-docs", "/swagger", "/webjars", "/api/v1/auth", "/login-page", "/login", "/signup",
+            "/reset-password", "/logout", "/css", "/js", "/.well-known");
+
+    private final PathPrefixMatcher skipTrie =
+            PathPrefixMatcher.of(SKIP_LIST.stream().map(prefix -> prefix + "*").toArray(String[]::new));
+
+    @Benchmark
+    public int skipListStream() {
+        int matched = 0;
+        for (String path : PATHS) {
+            if (SKIP_LIST.stream().anyMatch(path::startsWith)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public int skipListTrie() {
+        int matched = 0;
+        for (String path : PATHS) {
+            if (skipTrie.matches(path)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
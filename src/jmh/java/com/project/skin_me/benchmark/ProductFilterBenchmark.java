@@ -0,0 +1,168 @@
+package com.project.skin_me.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.project.skin_me.enums.ProductFacet;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.service.product.CatalogSnapshot;
+import com.project.skin_me.service.product.ProductFacets;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * The filter endpoint's work, category + brand + product type + price range + in stock with the facet
+ * counts, answered from the catalog's bitmaps and, for comparison, with the JPA queries it would otherwise
+ * take against the same products in H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductFilterBenchmark {
+
+    private static final Map<ProductFacet, List<String>> SELECTED = Map.of(
+            ProductFacet.CATEGORY, List.of("Category 1"),
+            ProductFacet.BRAND, List.of("Brand 3", "Brand 7"),
+            ProductFacet.PRODUCT_TYPE, List.of("Type 2"));
+    private static final BigDecimal MIN_PRICE = BigDecimal.valueOf(10);
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(60);
+
+    private static final String FILTERED = "from Product p join fetch p.category c where c.name in :categories"
+            + " and p.brand in :brands and p.productType in :types and p.price between :min and :max"
+            + " and p.inventory > 0 order by p.id";
+    private static final String STOCK_COUNTS = "select sum(case when p.inventory > 0 then 1 else 0 end), count(p)"
+            + " from Product p join p.category c where c.name in :categories and p.brand in :brands"
+            + " and p.productType in :types and p.price between :min and :max";
+
+    @Param("20000")
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private CatalogSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.main.banner-mode=off", "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        List<Product> products = new ArrayList<>(catalogSize);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Category category = new Category("Category " + i);
+            entityManager.persist(category);
+            categories.add(category);
+        }
+        for (int i = 0; i < catalogSize; i++) {
+            Product product = new Product("Product " + i, "Brand " + i % 40, BigDecimal.valueOf(i * 7919L % 100),
+                    "Type " + i / 40 % 12, i % 5, null, null, categories.get(i / 480 % categories.size()));
+            entityManager.persist(product);
+            products.add(product);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        snapshot = CatalogSnapshot.of(1, products);
+        // Built once per snapshot in the application too
+        snapshot.facets();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductFacets.Result bitmapFacets() {
+        return snapshot.facets().filter(SELECTED, MIN_PRICE, MAX_PRICE, true);
+    }
+
+    /**
+     * The matching products, then one grouped count per facet with the other facets' filters applied.
+     */
+    @Benchmark
+    public void jpaQueries(Blackhole blackhole) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            blackhole.consume(bind(entityManager.createQuery(FILTERED, Product.class)).getResultList());
+            blackhole.consume(count(entityManager, "c.name", "p.brand in :brands and p.productType in :types"
+                    + " and p.price between :min and :max and p.inventory > 0", false, true, true));
+            blackhole.consume(count(entityManager, "p.brand", "c.name in :categories and p.productType in :types"
+                    + " and p.price between :min and :max and p.inventory > 0", true, false, true));
+            blackhole.consume(count(entityManager, "p.productType", "c.name in :categories and p.brand in :brands"
+                    + " and p.price between :min and :max and p.inventory > 0", true, true, false));
+            blackhole.consume(bind(entityManager.createQuery(STOCK_COUNTS, Object[].class)).getSingleResult());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static List<Object[]> count(EntityManager entityManager, String groupBy, String where,
+            boolean categories, boolean brands, boolean types) {
+        TypedQuery<Object[]> query = entityManager.createQuery("select " + groupBy + ", count(p) from Product p"
+                + " join p.category c where " + where + " group by " + groupBy, Object[].class);
+        if (categories) {
+            query.setParameter("categories", SELECTED.get(ProductFacet.CATEGORY));
+        }
+        if (brands) {
+            query.setParameter("brands", SELECTED.get(ProductFacet.BRAND));
+        }
+        if (types) {
+            query.setParameter("types", SELECTED.get(ProductFacet.PRODUCT_TYPE));
+        }
+        return query.setParameter("min", MIN_PRICE).setParameter("max", MAX_PRICE).getResultList();
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query) {
+        return query.setParameter("categories", SELECTED.get(ProductFacet.CATEGORY))
+                .setParameter("brands", SELECTED.get(ProductFacet.BRAND))
+                .setParameter("types", SELECTED.get(ProductFacet.PRODUCT_TYPE))
+                .setParameter("min", MIN_PRICE)
+                .setParameter("max", MAX_PRICE);
+    }
+
+    // Only the data source and JPA, not the whole application
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({ DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class })
+    @EntityScan(basePackageClasses = Product.class)
+    static class JpaOnly {
+    }
+}
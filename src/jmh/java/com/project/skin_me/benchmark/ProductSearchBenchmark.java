@@ -0,0 +1,100 @@
+package com.project.skin_me.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.skin_me.model.Product;
+import com.project.skin_me.service.search.ProductSearchIndex;
+
+/**
+ * Full-text search latency over a generated catalog, sampled so the report shows the p50 and p99 next to the
+ * mean. The target is a p99 under 5 ms at 50 000 products. Queries cycle through whole words, three-letter
+ * prefixes, words with a typo and two-word queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    @Param("50000")
+    private int catalogSize;
+
+    private ProductSearchIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[3_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random);
+        }
+        List<Product> products = new ArrayList<>(catalogSize);
+        for (long id = 1; id <= catalogSize; id++) {
+            Product product = new Product(words(random, vocabulary, 3), vocabulary[random.nextInt(200)],
+                    BigDecimal.TEN, vocabulary[random.nextInt(20)], 1, words(random, vocabulary, 30),
+                    words(random, vocabulary, 15), null);
+            product.setId(id);
+            products.add(product);
+        }
+        index = new ProductSearchIndex();
+        index.rebuild(products);
+
+        queries = new String[500];
+        for (int i = 0; i < queries.length; i++) {
+            String term = vocabulary[random.nextInt(vocabulary.length)];
+            queries[i] = switch (i % 4) {
+                case 0 -> term;
+                case 1 -> term.substring(0, Math.min(term.length(), 3));
+                case 2 -> term.substring(0, term.length() - 1) + "q";
+                default -> term + " " + vocabulary[random.nextInt(vocabulary.length)];
+            };
+        }
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        String query = queries[next];
+        next = (next + 1) % queries.length;
+        return index.search(query, 20);
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 4 + random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // Skewed towards the start of the vocabulary, like real product copy
+            int rank = (int) Math.min(vocabulary.length - 1, Math.abs(random.nextGaussian()) * vocabulary.length / 4);
+            text.append(vocabulary[rank]).append(' ');
+        }
+        return text.toString();
+    }
+}
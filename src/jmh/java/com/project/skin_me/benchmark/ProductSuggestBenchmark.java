@@ -0,0 +1,83 @@
+package com.project.skin_me.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.skin_me.dto.SuggestionDto;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.service.search.ProductSuggestIndex;
+
+/**
+ * Type-ahead latency over a generated catalog, sampled so the report shows the p50 and p99 next to the mean.
+ * The target is a p99 under a millisecond at 50 000 products. Prefixes are one letter up to a whole word.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSuggestBenchmark {
+
+    @Param("50000")
+    private int catalogSize;
+
+    private ProductSuggestIndex index;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[3_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 3 + random.nextInt(7);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        List<Product> products = new ArrayList<>(catalogSize);
+        for (long id = 1; id <= catalogSize; id++) {
+            String name = String.join(" ", vocabulary[random.nextInt(vocabulary.length)],
+                    vocabulary[random.nextInt(vocabulary.length)], vocabulary[random.nextInt(vocabulary.length)]);
+            Product product = new Product(name, vocabulary[random.nextInt(50)], BigDecimal.TEN,
+                    vocabulary[random.nextInt(10)], 1, null, null, null);
+            product.setId(id);
+            product.setTotalOrders(random.nextInt(1_000));
+            products.add(product);
+        }
+        index = new ProductSuggestIndex();
+        index.rebuild(products);
+
+        prefixes = new String[2_000];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = vocabulary[random.nextInt(vocabulary.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+        }
+    }
+
+    @Benchmark
+    public List<SuggestionDto> suggest() {
+        String prefix = prefixes[next];
+        next = (next + 1) % prefixes.length;
+        return index.suggest(prefix, 8);
+    }
+}
@@ -0,0 +1,208 @@
+package com.project.skin_me.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.dto.ProductDto;
+import com.project.skin_me.mapper.OrderMapper;
+import com.project.skin_me.mapper.ImageMapper;
+import com.project.skin_me.mapper.ProductMapper;
+import com.project.skin_me.model.Cart;
+import com.project.skin_me.model.CartItem;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.repository.CartRepository;
+import com.project.skin_me.repository.CategoryRepository;
+import com.project.skin_me.repository.ImageRepository;
+import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.repository.PaymentRepository;
+import com.project.skin_me.repository.ProductRepository;
+import com.project.skin_me.security.jwt.JwtUtils;
+import com.project.skin_me.service.cart.CartItemService;
+import com.project.skin_me.service.cart.ICartService;
+import com.project.skin_me.service.order.OrderService;
+import com.project.skin_me.service.popularProduct.IPopularProductService;
+import com.project.skin_me.service.product.IProductService;
+import com.project.skin_me.service.product.ProductCatalog;
+import com.project.skin_me.service.product.ProductService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * The service-layer methods on the request path, over a synthetic catalog of {@code size} products (and a
+ * cart and an order of {@code size} lines). Repositories are replaced by in-memory stubs, so the numbers are
+ * the application's own CPU and allocation cost without the database round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceHotPathBenchmark {
+
+    private static final String JWT_SECRET =
+            "9AH3XncLQ4BxZSypjG5XNpCk+pBsPwSCJVavCQojc4aVD8I79n8pTkc/pD6KlCWSyFPs77q/Czh8ZenHHDkjxA==";
+
+    @Param({ "100", "1000" })
+    private int size;
+
+    private List<Product> products;
+    private ProductService productService;
+    private CartItemService cartItemService;
+    private Cart cart;
+    private OrderService orderService;
+    private JwtUtils jwtUtils;
+    private String token;
+    private final Random random = new Random(42);
+
+    @Setup
+    public void setUp() {
+        Random data = new Random(7);
+        Category category = new Category("Face");
+        category.setId(1L);
+        products = new ArrayList<>(size);
+        List<ImageMetadataDto> images = new ArrayList<>(size * 2);
+        for (long id = 1; id <= size; id++) {
+            Product product = new Product("Product " + id + " | hydrating", "Brand " + id % 40,
+                    BigDecimal.valueOf(5 + data.nextInt(9_500), 2), "Type " + id % 12, 1 + data.nextInt(100),
+                    "Lightweight daily formula\nwith ceramides and niacinamide", "Apply morning and night",
+                    category);
+            product.setId(id);
+            products.add(product);
+            for (long image = 0; image < 2; image++) {
+                long imageId = id * 2 + image;
+                images.add(new ImageMetadataDto(imageId, id, "image-" + imageId + ".jpg", "image/jpeg", 120_000L,
+                        "key-" + imageId, "%064x".formatted(imageId), LocalDateTime.now(), imageId));
+            }
+        }
+
+        ImageRepository imageRepository = stub(ImageRepository.class, Map.of("findMetadataByProductIdIn",
+                args -> images.subList(0, Math.min(images.size(), ((Collection<?>) args[0]).size() * 2))));
+        productService = new ProductService(stub(ProductRepository.class, Map.of()),
+                stub(CategoryRepository.class, Map.of()), imageRepository,
+                new ProductCatalog(stub(ProductRepository.class, Map.of()), null), new ProductMapper(),
+                new ImageMapper("/api/v1"));
+
+        IProductService productLookup = stub(IProductService.class,
+                Map.of("getProductById", args -> products.get((int) ((Long) args[0] - 1))));
+        cartItemService = new CartItemService(stub(CartRepository.class, Map.of("save", args -> args[0])),
+                productLookup, stub(ICartService.class, Map.of()));
+        cart = new Cart();
+        // addItemToCart keeps adding to the cart above, so the order has one of its own, always in stock
+        Cart orderedCart = new Cart();
+        for (Product product : products) {
+            cart.addItem(cartItem(product, 1 + data.nextInt(3)));
+            orderedCart.addItem(cartItem(product, 1));
+        }
+        orderService = new OrderService(stub(OrderRepository.class, Map.of("save", args -> args[0])),
+                stub(ProductRepository.class, Map.of()), stub(PaymentRepository.class, Map.of()),
+                new OrderMapper(), stub(ICartService.class, Map.of("getCartByUserId", args -> orderedCart)),
+                stub(IPopularProductService.class, Map.of()), event -> { });
+
+        jwtUtils = new JwtUtils(JWT_SECRET, 86_400_000);
+        token = Jwts.builder()
+                .setSubject("dara@example.com")
+                .claim("id", 3L)
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86_400_000L))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String toMarkdownTable() {
+        return productService.toMarkdownTable(products);
+    }
+
+    @Benchmark
+    public List<ProductDto> getConvertedProducts() {
+        return productService.getConvertedProducts(products);
+    }
+
+    /**
+     * One more unit of a product already in a cart of {@code size} lines, the common add-to-cart case.
+     */
+    @Benchmark
+    public Cart addItemToCart() {
+        cartItemService.addItemToCart(cart, 1L + random.nextInt(size), 1);
+        return cart;
+    }
+
+    @Benchmark
+    public BigDecimal updateCartTotal() {
+        cart.updateTotalAmount();
+        return cart.getTotalAmount();
+    }
+
+    /**
+     * An order of the {@code size}-line cart: its stock check, order lines and total.
+     */
+    @Benchmark
+    public Order placeOrder() {
+        return orderService.placeOrderItem(1L);
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return jwtUtils.parseClaims(token);
+    }
+
+    private static CartItem cartItem(Product product, int quantity) {
+        CartItem item = new CartItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(product.getPrice());
+        item.setTotalPrice();
+        return item;
+    }
+
+    /**
+     * An implementation of {@code type} answering the named methods and failing on any other.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+}
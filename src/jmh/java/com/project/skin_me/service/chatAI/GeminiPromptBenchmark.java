@@ -0,0 +1,60 @@
+package com.project.skin_me.service.chatAI;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Product;
+
+/**
+ * The product context of a Gemini prompt for {@code size} products. In this package because the formatting
+ * is package-private; the call to Gemini itself is left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeminiPromptBenchmark {
+
+    @Param({ "100", "1000" })
+    private int size;
+
+    private GeminiService geminiService;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category("Face");
+        products = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Product product = new Product("Product " + id + " | hydrating", "Brand " + id % 40,
+                    BigDecimal.TEN, "Type " + id % 12, 10,
+                    "Lightweight daily formula\nwith ceramides and niacinamide", "Apply morning and night",
+                    category);
+            product.setId(id);
+            products.add(product);
+        }
+        geminiService = new GeminiService(null, null);
+    }
+
+    @Benchmark
+    public String formatProductsForGemini() {
+        return geminiService.formatProductsForGemini(products);
+    }
+}
@@ -0,0 +1,371 @@
+package com.project.skin_me.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.skin_me.data.LoadTestDataGenerator;
+
+/**
+ * Replays a mix of shopper traffic against a running application and reports throughput and latency
+ * percentiles per endpoint. Start the application with the {@code loadtest} profile, then run
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec [-Dloadtest.args="virtual-users=200 duration=120"]
+ * </pre>
+ * Each virtual user is a virtual thread that signs in as one of the generated users and then browses,
+ * searches, fills its cart and checks out without think time, so the numbers are the application's
+ * capacity on the machine rather than a model of real pacing. Requests made during the warmup are not
+ * counted. The report is also written as CSV, to compare releases run on the same machine.
+ */
+public class LoadDriver {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Options options;
+    private final HttpClient client;
+    private final List<Step> steps;
+    private final int totalWeight;
+
+    LoadDriver(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.steps = steps();
+        this.totalWeight = steps.stream().mapToInt(Step::weight).sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        Map<String, Samples> results = new LoadDriver(options).run();
+        Report report = new Report(results, options.duration());
+        report.print(System.out);
+        Files.createDirectories(options.report().toAbsolutePath().getParent());
+        Files.writeString(options.report(), report.csv());
+        System.out.println("Report written to " + options.report());
+    }
+
+    Map<String, Samples> run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        long end = warmupEnd + options.duration().toNanos();
+        System.out.printf("%d virtual users against %s: %ds warmup, %ds measured%n", options.virtualUsers(),
+                options.baseUri(), options.warmup().toSeconds(), options.duration().toSeconds());
+
+        List<Session> sessions = new ArrayList<>(options.virtualUsers());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.virtualUsers(); i++) {
+                Session session = new Session(new Random(options.seed() + i), warmupEnd);
+                sessions.add(session);
+                executor.submit(() -> drive(session, end));
+            }
+        }
+
+        Map<String, Samples> merged = new TreeMap<>();
+        for (Session session : sessions) {
+            session.samples.forEach((endpoint, samples) ->
+                    merged.computeIfAbsent(endpoint, e -> new Samples()).addAll(samples));
+        }
+        return merged;
+    }
+
+    private void drive(Session session, long end) {
+        login(session);
+        while (System.nanoTime() < end) {
+            int pick = session.random.nextInt(totalWeight);
+            for (Step step : steps) {
+                pick -= step.weight();
+                if (pick < 0) {
+                    step.action().apply(session);
+                    break;
+                }
+            }
+        }
+    }
+
+    private List<Step> steps() {
+        return List.of(
+                // Browsing
+                new Step(10, session -> get(session, "GET /products/all",
+                        "/products/all?limit=20&sort=" + pick(session, List.of("id", "price", "totalOrders")))),
+                new Step(20, session -> get(session, "GET /products/product/{id}/product",
+                        "/products/product/" + productId(session) + "/product")),
+                new Step(15, session -> get(session, "GET /products/filter", "/products/filter?brand="
+                        + encode(pick(session, LoadTestDataGenerator.BRANDS)) + "&productType="
+                        + encode(pick(session, LoadTestDataGenerator.PRODUCT_TYPES))
+                        + (session.random.nextBoolean() ? "&minPrice=10&maxPrice=60&inStock=true" : ""))),
+                // Search and typeahead
+                new Step(20, session -> get(session, "GET /products/search", "/products/search?q="
+                        + encode(pick(session, LoadTestDataGenerator.WORDS) + " "
+                        + pick(session, LoadTestDataGenerator.PRODUCT_TYPES)))),
+                new Step(15, session -> {
+                    String word = pick(session, LoadTestDataGenerator.WORDS);
+                    return get(session, "GET /products/suggest",
+                            "/products/suggest?prefix=" + word.substring(0, 1 + session.random.nextInt(3)));
+                }),
+                // Cart and checkout
+                new Step(10, session -> send(session, "POST /cartItems/item/add", request(session,
+                        "/cartItems/item/add?productId=" + inStockProductId(session) + "&quantity=1")
+                        .POST(HttpRequest.BodyPublishers.noBody()))),
+                new Step(4, session -> get(session, "GET /carts/my-cart", "/carts/my-cart")),
+                new Step(3, this::checkout),
+                // Signing in again, as returning shoppers do
+                new Step(3, this::login));
+    }
+
+    /**
+     * Places an order from the cart, then empties the cart as the storefront does after payment.
+     */
+    private boolean checkout(Session session) {
+        boolean ordered = send(session, "POST /orders/order",
+                request(session, "/orders/order?userId=" + session.userId)
+                        .POST(HttpRequest.BodyPublishers.noBody()));
+        return send(session, "DELETE /carts/my-cart/clear", request(session, "/carts/my-cart/clear").DELETE())
+                && ordered;
+    }
+
+    private boolean login(Session session) {
+        String body = "{\"email\":\"" + LoadTestDataGenerator.email(session.random.nextInt(options.users()))
+                + "\",\"password\":\"" + options.password() + "\"}";
+        HttpResponse<String> response = exchange(session, "POST /auth/login", request(session, "/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response == null || response.statusCode() != 200) {
+            return false;
+        }
+        try {
+            JsonNode data = JSON.readTree(response.body()).path("data");
+            session.token = data.path("jwtToken").asText();
+            session.userId = data.path("id").asLong();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean get(Session session, String endpoint, String path) {
+        return send(session, endpoint, request(session, path).GET());
+    }
+
+    private boolean send(Session session, String endpoint, HttpRequest.Builder request) {
+        HttpResponse<String> response = exchange(session, endpoint, request);
+        if (response != null && response.statusCode() == 401) {
+            login(session);
+        }
+        return response != null && response.statusCode() < 400;
+    }
+
+    /**
+     * Sends the request and records its latency, or an error for a failed exchange or a status of 400 and
+     * above. Returns null when no response came back.
+     */
+    private HttpResponse<String> exchange(Session session, String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            response = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        long nanos = System.nanoTime() - start;
+        if (start >= session.warmupEnd) {
+            session.samples.computeIfAbsent(endpoint, e -> new Samples())
+                    .add(nanos, response != null && response.statusCode() < 400);
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder request(Session session, String path) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(options.baseUri() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (session.token != null) {
+            request.header("Authorization", "Bearer " + session.token);
+        }
+        return request;
+    }
+
+    private long productId(Session session) {
+        return 1 + session.random.nextInt(options.products());
+    }
+
+    // Sold-out products cannot be added in the storefront, and would fail the checkout
+    private long inStockProductId(Session session) {
+        long productId = productId(session);
+        return LoadTestDataGenerator.inStock(productId) ? productId : productId - 1;
+    }
+
+    private static String pick(Session session, List<String> values) {
+        return values.get(session.random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private record Step(int weight, Function<Session, Boolean> action) {
+    }
+
+    private static final class Session {
+        private final Random random;
+        private final long warmupEnd;
+        // Only touched by the session's own thread; merged once all are done
+        private final Map<String, Samples> samples = new HashMap<>();
+        private String token;
+        private long userId;
+
+        Session(Random random, long warmupEnd) {
+            this.random = random;
+            this.warmupEnd = warmupEnd;
+        }
+    }
+
+    /**
+     * Latencies in nanoseconds of the successful requests to one endpoint, and the number of failed ones.
+     */
+    static final class Samples {
+        private long[] nanos = new long[256];
+        private int count;
+        private int errors;
+
+        void add(long latency, boolean success) {
+            if (!success) {
+                errors++;
+                return;
+            }
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(count + other.count, nanos.length * 2));
+            }
+            System.arraycopy(other.nanos, 0, nanos, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int errors() {
+            return errors;
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    record Report(Map<String, Samples> results, Duration duration) {
+
+        private static final String HEADER = "endpoint,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms";
+
+        void print(PrintStream out) {
+            out.printf("%n%-36s %9s %7s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s",
+                    "p50 ms", "p95 ms", "p99 ms", "max ms");
+            for (List<Object> row : rows()) {
+                out.printf("%-36s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", row.toArray());
+            }
+        }
+
+        String csv() {
+            StringBuilder csv = new StringBuilder(HEADER).append('\n');
+            for (List<Object> row : rows()) {
+                csv.append(String.format("%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n", row.toArray()));
+            }
+            return csv.toString();
+        }
+
+        private List<List<Object>> rows() {
+            double seconds = duration.toMillis() / 1000.0;
+            List<List<Object>> rows = new ArrayList<>();
+            Samples total = new Samples();
+            results.forEach((endpoint, samples) -> {
+                rows.add(row(endpoint, samples, seconds));
+                total.addAll(samples);
+            });
+            rows.add(row("all", total, seconds));
+            return rows;
+        }
+
+        private static List<Object> row(String endpoint, Samples samples, double seconds) {
+            long[] sorted = samples.sorted();
+            return List.of(endpoint, samples.count(), samples.errors(), samples.count() / seconds,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99), percentile(sorted, 100));
+        }
+
+        /**
+         * The latency in milliseconds below which {@code percentile} percent of the requests completed.
+         */
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, rank)] / 1e6;
+        }
+    }
+
+    record Options(String baseUri, int virtualUsers, Duration warmup, Duration duration, int users,
+            int products, String password, long seed, Path report) {
+
+        /**
+         * Reads {@code name=value} arguments, optionally written {@code --name=value}; the defaults match the
+         * loadtest profile's data.
+         */
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                String option = arg.startsWith("--") ? arg.substring(2) : arg;
+                if (option.indexOf('=') < 1) {
+                    throw new IllegalArgumentException("Expected name=value but got " + arg);
+                }
+                values.put(option.substring(0, option.indexOf('=')), option.substring(option.indexOf('=') + 1));
+            }
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            return new Options(
+                    values.getOrDefault("base-url", "http://localhost:8800/api/v1"),
+                    Integer.parseInt(values.getOrDefault("virtual-users", "64")),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "15"))),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                    Integer.parseInt(values.getOrDefault("users", "1000")),
+                    Integer.parseInt(values.getOrDefault("products", "5000")),
+                    values.getOrDefault("password", "loadtest"),
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    Path.of(values.getOrDefault("report", "target/loadtest-" + timestamp + ".csv")));
+        }
+    }
+}
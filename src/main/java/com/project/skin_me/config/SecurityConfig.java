@@ -9,7 +9,6 @@ import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -32,7 +31,9 @@ import org.springframework.security.web.savedrequest.HttpSessionRequestCache;
 import org.springframework.security.web.savedrequest.RequestCache;
 import org.springframework.security.web.savedrequest.SavedRequest;
 import com.project.skin_me.filter.UserActivityFilter;
-import com.project.skin_me.repository.UserRepository;
+import com.project.skin_me.security.PathPrefixMatcher;
+import com.project.skin_me.service.presence.PresenceService;
+import com.project.skin_me.service.user.UserActivityBuffer;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -51,7 +52,8 @@ public class SecurityConfig {
         private final ShopUserDetailsService userDetailsService;
         private final JwtAuthEntryPoint jwtAuthEntryPoint;
         private final AuthTokenFilter jwtFilter;
-        private final UserRepository userRepository;
+        private final UserActivityBuffer userActivityBuffer;
+        private final PresenceService presenceService;
 
         private static final String[] PUBLIC_API = {
                         "/api/v1/users/**", "/api/v1/products/**", "/api/v1/categories/**",
@@ -69,9 +71,13 @@ public class SecurityConfig {
         };
 
         private static final String[] ADMIN_URLS = {
-                        "/api/v1/admin/**"
+                        "/api/v1/admin/**", "/actuator/**"
         };
 
+        // APIs, docs and static resources: never worth returning to after a login
+        private static final PathPrefixMatcher NON_PAGE_PREFIXES = PathPrefixMatcher.of(
+                        "/api/*", "/v3/api-docs*", "/swagger*", "/webjars*", "/css*", "/js*", "/images*");
+
         @Bean
         public RequestCache requestCache() {
                 HttpSessionRequestCache requestCache = new HttpSessionRequestCache();
@@ -82,13 +88,7 @@ public class SecurityConfig {
                                !path.contains("devtools") &&
                                !path.contains("favicon") &&
                                !path.contains(".ico") &&
-                               !path.startsWith("/api/") &&
-                               !path.startsWith("/v3/api-docs") &&
-                               !path.startsWith("/swagger") &&
-                               !path.startsWith("/webjars") &&
-                               !path.startsWith("/css") &&
-                               !path.startsWith("/js") &&
-                               !path.startsWith("/images");
+                               !NON_PAGE_PREFIXES.matches(path);
                 });
                 return requestCache;
         }
@@ -147,7 +147,7 @@ public class SecurityConfig {
                 http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
                 
                 // Add user activity filter after authentication
-                http.addFilterAfter(new UserActivityFilter(userRepository), 
+                http.addFilterAfter(new UserActivityFilter(userActivityBuffer, presenceService), 
                         UsernamePasswordAuthenticationFilter.class);
 
                 return http.build();
@@ -188,11 +188,6 @@ public class SecurityConfig {
                 };
         }
 
-        @Bean
-        public ModelMapper modelMapper() {
-                return new ModelMapper();
-        }
-
         @Bean
         public CorsConfigurationSource corsConfigurationSource() {
                 CorsConfiguration config = new CorsConfiguration();
@@ -312,12 +307,6 @@ public class SecurityConfig {
                        !lowerUrl.contains("devtools") &&
                        !lowerUrl.contains("favicon") &&
                        !lowerUrl.contains(".ico") &&
-                       !lowerUrl.startsWith("/api/") &&
-                       !lowerUrl.startsWith("/v3/api-docs") &&
-                       !lowerUrl.startsWith("/swagger") &&
-                       !lowerUrl.startsWith("/webjars") &&
-                       !lowerUrl.startsWith("/css") &&
-                       !lowerUrl.startsWith("/js") &&
-                       !lowerUrl.startsWith("/images");
+                       !NON_PAGE_PREFIXES.matches(lowerUrl);
         }
 }
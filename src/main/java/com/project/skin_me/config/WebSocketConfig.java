@@ -1,11 +1,15 @@
 package com.project.skin_me.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import com.project.skin_me.security.AdminTopicInterceptor;
+import com.project.skin_me.service.presence.PresenceService;
+
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
@@ -19,6 +23,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 "/topic/orders", // For order updates
                 "/topic/products", // For product updates
                 "/topic/inventory", // For inventory updates
+                "/topic/presence", // For users going online and offline
                 "/user" // For user-specific messages
         );
 
@@ -37,4 +42,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // The endpoint is public; who is online is for administrators only
+        registration.interceptors(new AdminTopicInterceptor(PresenceService.TOPIC));
+    }
+
 }
@@ -2,6 +2,7 @@ package com.project.skin_me.controller;
 
 import com.project.skin_me.dto.CartDto;
 import com.project.skin_me.exception.ResourceNotFoundException;
+import com.project.skin_me.mapper.ImageMapper;
 import com.project.skin_me.model.Cart;
 import com.project.skin_me.model.User;
 import com.project.skin_me.response.ApiResponse;
@@ -25,6 +26,7 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 public class CartController {
     private final ICartService cartService;
     private final IUserService userService;
+    private final ImageMapper imageMapper;
 
 
     @GetMapping("/my-cart")
@@ -33,7 +35,7 @@ public class CartController {
             var user = userService.getAuthenticatedUser();
             var cart = cartService.getCartByUserId(user.getId());
 
-            CartDto cartDto = new CartDto(cart);
+            CartDto cartDto = new CartDto(cart, imageMapper);
             return ResponseEntity.ok(new ApiResponse("success", cartDto));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -1,9 +1,14 @@
 package com.project.skin_me.controller;
 
-import java.sql.SQLException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -12,13 +17,16 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.project.skin_me.dto.ImageDto;
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
 import com.project.skin_me.exception.ResourceNotFoundException;
-import com.project.skin_me.model.Image;
 import com.project.skin_me.response.ApiResponse;
 import com.project.skin_me.service.image.IImageService;
+import com.project.skin_me.service.image.ImageVariantGenerator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -51,13 +59,50 @@ public class ImageController {
     }
 
     @GetMapping("/image/download/{imageId}")
-    public ResponseEntity<ByteArrayResource> downloadImage(@PathVariable Long imageId) throws SQLException {
-        Image image = imageService.getImageById(imageId);
-        ByteArrayResource resource = new ByteArrayResource(image.getImage());
+    public ResponseEntity<Resource> downloadImage(@PathVariable Long imageId,
+            @RequestParam(name = "v", required = false) String version,
+            @RequestParam(required = false) String variant, WebRequest webRequest) {
+        ImageMetadataDto image = imageService.getImageMetadata(imageId);
 
+        ImageVariant requestedVariant;
+        try {
+            requestedVariant = variant != null ? ImageVariant.fromParameter(variant) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // A variant that has not been generated yet is answered with the original
+        Optional<Resource> variantResource = requestedVariant != null
+                ? imageService.getImageVariant(image, requestedVariant)
+                : Optional.empty();
+        boolean servingVariant = variantResource.isPresent();
+
+        // Versioned URLs change whenever the content does, so they can be cached forever;
+        // anything else (including a fallback to the original) must be revalidated against the ETag
+        boolean cacheable = imageService.isCurrentVersion(image, version) && (requestedVariant == null || servingVariant);
+        CacheControl cacheControl = cacheable
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        String eTag = image.getContentHash() == null ? null
+                : servingVariant ? "\"" + image.getContentHash() + "-" + requestedVariant.getParameterValue() + "\""
+                : "\"" + image.getContentHash() + "\"";
+        long lastModified = image.getUploadedAt() != null
+                ? image.getUploadedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+
+        // Answer conditional requests before any content is read
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+
+        // Range requests on a Resource body are answered with 206 partial content by Spring MVC
+        Resource resource = variantResource.orElseGet(() -> imageService.getImageContent(image));
+        String contentType = servingVariant ? ImageVariantGenerator.contentTypeFor(image.getFileType()) : image.getFileType();
         return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(image.getFileType()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + image.getFileName() + "\"")
+                .contentType(MediaType.parseMediaType(contentType))
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                        .filename(image.getFileName(), StandardCharsets.UTF_8).build().toString())
                 .body(resource);
     }
 
@@ -66,7 +111,7 @@ public class ImageController {
     public ResponseEntity<ApiResponse> updateImage(@PathVariable Long imageId,
             @RequestBody MultipartFile file) {
         try {
-            Image image = imageService.getImageById(imageId);
+            ImageMetadataDto image = imageService.getImageMetadata(imageId);
             if (image != null) {
                 imageService.updateImage(file, imageId);
                 return ResponseEntity.ok(new ApiResponse("Update image success!", null));
@@ -82,7 +127,7 @@ public class ImageController {
     @DeleteMapping("/image/{imageId}/delete")
     public ResponseEntity<ApiResponse> deleteImage(@PathVariable Long imageId) {
         try {
-            Image image = imageService.getImageById(imageId);
+            ImageMetadataDto image = imageService.getImageMetadata(imageId);
             if (image != null) {
                 imageService.deleteImageById(imageId);
                 return ResponseEntity.ok(new ApiResponse("Delete success!", null));
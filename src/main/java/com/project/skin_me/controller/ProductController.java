@@ -9,9 +9,14 @@ import com.project.skin_me.dto.ProductDto;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.Product;
 import com.project.skin_me.request.AddProductRequest;
+import com.project.skin_me.request.ProductFilterRequest;
+import com.project.skin_me.request.ProductPageRequest;
 import com.project.skin_me.request.ProductUpdateRequest;
 import com.project.skin_me.response.ApiResponse;
 import com.project.skin_me.service.product.IProductService;
+import com.project.skin_me.service.search.IProductSearchService;
+import com.project.skin_me.service.search.IProductSuggestService;
+import com.project.skin_me.service.search.ProductSuggestIndex;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,13 +37,25 @@ import org.springframework.web.bind.annotation.PutMapping;
 public class ProductController {
 
     private final IProductService productService;
+    private final IProductSearchService productSearchService;
+    private final IProductSuggestService productSuggestService;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
 
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
-        List<ProductDto> convertedProducts = productService.getConvertedProducts(products);
+    public ResponseEntity<ApiResponse> getAllProducts(ProductPageRequest page) {
+        try {
+            List<Product> products = productService.getAllProducts();
+            return ResponseEntity.ok(new ApiResponse("success", listing(products, page)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+        }
+    }
 
-        return ResponseEntity.ok(new ApiResponse("success", convertedProducts));
+    // Without paging parameters a listing keeps its original response, every product as a plain list
+    private Object listing(List<Product> products, ProductPageRequest page) {
+        return page.isPaged() ? productService.getConvertedPage(products, page)
+                : productService.getConvertedProducts(products);
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -125,21 +142,57 @@ public class ProductController {
         }
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> searchProducts(@RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(new ApiResponse("Search query must be provided!", null));
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse("limit must be between 1 and " + MAX_SEARCH_RESULTS, null));
+        }
+        List<Product> products = productSearchService.search(q, limit);
+        return ResponseEntity.ok(new ApiResponse("success", productService.getConvertedProducts(products)));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse> suggestProducts(@RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        if (limit < 1 || limit > ProductSuggestIndex.MAX_SUGGESTIONS) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse("limit must be between 1 and " + ProductSuggestIndex.MAX_SUGGESTIONS, null));
+        }
+        return ResponseEntity.ok(new ApiResponse("success", productSuggestService.suggest(prefix, limit)));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<ApiResponse> filterProducts(ProductFilterRequest filter, ProductPageRequest page) {
+        try {
+            return ResponseEntity.ok(new ApiResponse("success", productService.filterProducts(filter, page)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/product-active")
-    public ResponseEntity<ApiResponse> getActiveProducts() {
+    public ResponseEntity<ApiResponse> getActiveProducts(ProductPageRequest page) {
         List<Product> activeProducts = productService.getActiveProducts();
-        List<ProductDto> convertedProducts = productService.getConvertedProducts(activeProducts);
 
         if (activeProducts.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ApiResponse("No active products found!", null));
         }
 
-        return ResponseEntity.ok(new ApiResponse("success", convertedProducts));
+        try {
+            return ResponseEntity.ok(new ApiResponse("success", listing(activeProducts, page)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
+        }
     }
 
     @GetMapping("/by-category/{category}")
-    public ResponseEntity<ApiResponse> getProductsByCategory(@PathVariable String category) {
+    public ResponseEntity<ApiResponse> getProductsByCategory(@PathVariable String category, ProductPageRequest page) {
         try {
             if (category == null || category.isBlank()) {
                 return ResponseEntity.badRequest()
@@ -152,9 +205,10 @@ public class ProductController {
                         .body(new ApiResponse("No products found for category: " + category, null));
             }
 
-            List<ProductDto> convertedProducts = productService.getConvertedProducts(products);
-            return ResponseEntity.ok(new ApiResponse("success", convertedProducts));
+            return ResponseEntity.ok(new ApiResponse("success", listing(products, page)));
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse("Error retrieving products by category: " + e.getMessage(), null));
@@ -162,7 +216,7 @@ public class ProductController {
     }
 
     @GetMapping("/by-brand/{brand}")
-    public ResponseEntity<ApiResponse> getProductsByBrand(@PathVariable String brand) {
+    public ResponseEntity<ApiResponse> getProductsByBrand(@PathVariable String brand, ProductPageRequest page) {
         try {
             if (brand == null || brand.isBlank()) {
                 return ResponseEntity.badRequest()
@@ -175,9 +229,10 @@ public class ProductController {
                         .body(new ApiResponse("No products found for brand: " + brand, null));
             }
 
-            List<ProductDto> convertedProducts = productService.getConvertedProducts(products);
-            return ResponseEntity.ok(new ApiResponse("success", convertedProducts));
+            return ResponseEntity.ok(new ApiResponse("success", listing(products, page)));
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse("Error retrieving products by brand: " + e.getMessage(), null));
@@ -223,7 +278,7 @@ public class ProductController {
     public ResponseEntity<ApiResponse> getProductsByCategoryAndBrand(@RequestParam String category,
             @RequestParam String productBrand) {
         try {
-            List<Product> products = productService.getProductsByProductTypeAndName(category, productBrand);
+            List<Product> products = productService.getProductsByCategoryAndBrand(category, productBrand);
             List<ProductDto> convertedProducts = productService.getConvertedProducts(products);
 
             if (products.isEmpty()) {
@@ -249,17 +304,18 @@ public class ProductController {
     }
 
     @GetMapping("/popular")
-    public ResponseEntity<ApiResponse> getPopularProducts() {
+    public ResponseEntity<ApiResponse> getPopularProducts(ProductPageRequest page) {
         try {
             List<Product> popularProducts = productService.getPopularProducts();
-            List<ProductDto> convertedProducts = productService.getConvertedProducts(popularProducts);
 
             if (popularProducts.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(new ApiResponse("No popular products found!", null));
             }
 
-            return ResponseEntity.ok(new ApiResponse("success", convertedProducts));
+            return ResponseEntity.ok(new ApiResponse("success", listing(popularProducts, page)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse("Error retrieving popular products: " + e.getMessage(), null));
@@ -0,0 +1,89 @@
+package com.project.skin_me.data;
+
+import com.project.skin_me.model.Image;
+import com.project.skin_me.repository.ImageRepository;
+import com.project.skin_me.service.image.ImageContentService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One-off migration that moves image bytes still held in the {@code image} LONGBLOB column to shared,
+ * deduplicated content in the configured storage. Run the application once with
+ * {@code image.storage.type=filesystem} and {@code image.storage.migrate-blobs=true}; every row is
+ * migrated in its own transaction, so the migration can be interrupted and resumed.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "image.storage.migrate-blobs", havingValue = "true")
+public class ImageStorageMigration {
+    private static final Logger logger = LoggerFactory.getLogger(ImageStorageMigration.class);
+
+    private final ImageRepository imageRepository;
+    private final ImageContentService imageContentService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${image.storage.migrate-batch-size:100}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateBlobsToFileSystem() {
+        logger.info("Moving image content from the database to the filesystem");
+        Set<Long> failed = new HashSet<>();
+        int migrated = 0;
+
+        while (true) {
+            List<Long> ids = imageRepository.findIdsStoredInDatabase(PageRequest.of(0, batchSize + failed.size()))
+                    .stream()
+                    .filter(id -> !failed.contains(id))
+                    .toList();
+            if (ids.isEmpty()) {
+                break;
+            }
+            for (Long id : ids) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> migrate(id));
+                    migrated++;
+                } catch (RuntimeException e) {
+                    logger.error("Failed to migrate image {}", id, e);
+                    failed.add(id);
+                }
+            }
+            logger.info("Migrated {} images so far", migrated);
+        }
+
+        logger.info("Image migration finished: {} migrated, {} failed", migrated, failed.size());
+    }
+
+    private void migrate(Long id) {
+        Image image = imageRepository.findById(id).orElse(null);
+        if (image == null || image.getImage() == null) {
+            return;
+        }
+        byte[] content = image.getImage();
+        try {
+            if (image.getSize() == null) {
+                image.setSize((long) content.length);
+            }
+            // Identical uploads collapse onto one shared file here
+            imageContentService.acquire(image, new ByteArrayResource(content), content.length);
+            image.setImage(null);
+            imageRepository.save(image);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write image " + id + " to disk", e);
+        }
+    }
+}
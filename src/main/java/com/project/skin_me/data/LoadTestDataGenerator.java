@@ -0,0 +1,320 @@
+package com.project.skin_me.data;
+
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.model.Cart;
+import com.project.skin_me.model.CartItem;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Image;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.OrderItem;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.model.Role;
+import com.project.skin_me.model.User;
+import com.project.skin_me.repository.CartRepository;
+import com.project.skin_me.repository.CategoryRepository;
+import com.project.skin_me.repository.ImageRepository;
+import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.repository.ProductRepository;
+import com.project.skin_me.repository.RoleRepository;
+import com.project.skin_me.repository.UserRepository;
+import com.project.skin_me.service.image.ImageContentService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Fills the empty H2 database of the {@code loadtest} profile with a synthetic shop: categories, products with
+ * images, users with a cart each, and past orders. The data is the same for the same seed, so runs against
+ * different releases see the same catalog. It is written before the application is ready, so the product
+ * catalog and the search and suggest indexes are built from it.
+ */
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestDataGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDataGenerator.class);
+
+    public static final List<String> CATEGORIES = List.of("Face", "Body", "Hair", "Eyes", "Lips", "Sun Care",
+            "Men", "Baby", "Fragrance", "Tools", "Bath", "Nails");
+    public static final List<String> BRANDS = List.of("Lumi", "Petal", "Soleil", "Cerave", "Cosrx", "Laneige",
+            "Innisfree", "Klairs", "Purito", "Anua", "Beplain", "Torriden", "Medicube", "Skin1004", "Round Lab",
+            "Isntree", "Mixsoon", "Haruharu", "Aestura", "Illiyoon", "Dr Jart", "Sulwhasoo", "Etude", "Missha",
+            "Holika", "Tonymoly", "Nacific", "Benton", "Heimish", "Pyunkang", "Axis Y", "Abib", "Numbuzin",
+            "Goodal", "Banila", "Hera", "Iope", "Mamonde", "Neogen", "Some By Mi");
+    public static final List<String> PRODUCT_TYPES = List.of("Serum", "Toner", "Cleanser", "Moisturizer",
+            "Sunscreen", "Essence", "Ampoule", "Mask", "Exfoliator", "Eye Cream", "Lip Balm", "Oil");
+    public static final List<String> WORDS = List.of("hydrating", "soothing", "brightening", "calming",
+            "gentle", "daily", "intensive", "barrier", "repair", "glow", "clear", "pore", "deep", "rich", "light",
+            "ceramide", "niacinamide", "retinol", "vitamin", "hyaluronic", "centella", "snail", "rice", "green",
+            "tea", "heartleaf", "propolis", "peptide", "collagen", "aloe", "cica", "honey", "mugwort", "birch",
+            "water", "cream", "foam", "gel", "balm", "milk");
+
+    private static final int BATCH_SIZE = 500;
+    private static final int IMAGES_PER_PRODUCT = 2;
+    // Distinct image contents; every image shares one of them, as product photos share stored content
+    private static final int IMAGE_CONTENTS = 16;
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ImageRepository imageRepository;
+    private final ImageContentService imageContentService;
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final CartRepository cartRepository;
+    private final OrderRepository orderRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${loadtest.data.users:1000}")
+    private int userCount;
+
+    @Value("${loadtest.data.products:5000}")
+    private int productCount;
+
+    @Value("${loadtest.data.orders:5000}")
+    private int orderCount;
+
+    @Value("${loadtest.data.password:loadtest}")
+    private String password;
+
+    @Value("${loadtest.data.seed:42}")
+    private long seed;
+
+    /**
+     * Whether the product with this id is generated with stock. Ids count from 1 in the empty database, and
+     * every tenth product is sold out, so the load driver can keep sold-out products out of carts.
+     */
+    public static boolean inStock(long productId) {
+        return productId % 10 != 0;
+    }
+
+    /**
+     * The sign-in email of the n-th generated user, counting from 0.
+     */
+    public static String email(int user) {
+        return "user" + user + "@loadtest.skinme";
+    }
+
+    @EventListener
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (productRepository.count() > 0) {
+            logger.info("Load test data already present, not generating");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Random random = new Random(seed);
+
+        List<Product> products = generateProducts(random);
+        generateImages(random, products);
+        List<User> users = generateUsers(random, products);
+        generateOrders(random, users, products);
+
+        logger.info("Generated {} products, {} users and {} orders for load testing in {} ms", products.size(),
+                users.size(), orderCount, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Products over all categories, saved together with the categories: saving a product cascades to its
+     * category, which must therefore still be managed.
+     */
+    private List<Product> generateProducts(Random random) {
+        List<Category> categories = CATEGORIES.stream().map(Category::new).toList();
+        List<Product> products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            String type = PRODUCT_TYPES.get(random.nextInt(PRODUCT_TYPES.size()));
+            String name = word(random) + " " + word(random) + " " + type;
+            // A few brands make most of the catalog, as in a real shop
+            String brand = BRANDS.get(skewed(random, BRANDS.size()));
+            BigDecimal price = BigDecimal.valueOf(300 + random.nextInt(12_000), 2);
+            int inventory = inStock(i + 1) ? 20 + random.nextInt(200) : 0;
+            String description = String.join(" ", word(random), word(random), word(random), word(random),
+                    "formula for every skin type");
+            Product product = new Product(name, brand, price, type, inventory, description,
+                    "Apply to clean skin morning and night", categories.get(random.nextInt(categories.size())));
+            product.setTotalOrders(skewed(random, 2_000));
+            products.add(product);
+        }
+        return transactionTemplate.execute(status -> {
+            categoryRepository.saveAll(categories);
+            return productRepository.saveAll(products);
+        });
+    }
+
+    private void generateImages(Random random, List<Product> products) {
+        List<byte[]> contents = new ArrayList<>(IMAGE_CONTENTS);
+        for (int i = 0; i < IMAGE_CONTENTS; i++) {
+            contents.add(jpeg(new Color(random.nextInt(0xFFFFFF))));
+        }
+        for (List<Product> batch : batches(products)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Image> images = new ArrayList<>(batch.size() * IMAGES_PER_PRODUCT);
+                for (Product product : batch) {
+                    for (int i = 0; i < IMAGES_PER_PRODUCT; i++) {
+                        byte[] content = contents.get(random.nextInt(contents.size()));
+                        Image image = new Image();
+                        image.setFileName("product-" + product.getId() + "-" + i + ".jpg");
+                        image.setFileType("image/jpeg");
+                        image.setSize((long) content.length);
+                        image.setProduct(product);
+                        image.setUploadedAt(LocalDateTime.now());
+                        try {
+                            imageContentService.acquire(image, new ByteArrayResource(content), content.length);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        images.add(image);
+                    }
+                }
+                imageRepository.saveAll(images);
+            });
+        }
+    }
+
+    /**
+     * Users with the configured password, each with an active cart of up to three products.
+     */
+    private List<User> generateUsers(Random random, List<Product> products) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (roleRepository.findByName("ROLE_USER").isEmpty()) {
+                Role role = new Role();
+                role.setName("ROLE_USER");
+                roleRepository.save(role);
+            }
+        });
+        // One hash for everyone: encoding is deliberately slow
+        String encodedPassword = passwordEncoder.encode(password);
+
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setFirstName("Load");
+            user.setLastName("User " + i);
+            user.setEmail(email(i));
+            user.setPassword(encodedPassword);
+            user.setEnabled(true);
+            user.setRegistrationDate(LocalDateTime.now().minusDays(random.nextInt(365)));
+            users.add(user);
+        }
+        List<User> saved = new ArrayList<>(userCount);
+        for (List<User> batch : batches(users)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Saving a user cascades to its roles, so the role is loaded in the same transaction
+                Role userRole = roleRepository.findByName("ROLE_USER").orElseThrow();
+                batch.forEach(user -> user.setRoles(new HashSet<>(Set.of(userRole))));
+                saved.addAll(userRepository.saveAll(batch));
+                List<Cart> carts = new ArrayList<>(batch.size());
+                for (User user : batch) {
+                    Cart cart = new Cart();
+                    cart.setUser(user);
+                    int items = random.nextInt(4);
+                    Set<Product> chosen = new HashSet<>();
+                    while (chosen.size() < items) {
+                        Product product = products.get(random.nextInt(products.size()));
+                        if (product.getInventory() > 0) {
+                            chosen.add(product);
+                        }
+                    }
+                    for (Product product : chosen) {
+                        CartItem item = new CartItem();
+                        item.setProduct(product);
+                        item.setQuantity(1 + random.nextInt(3));
+                        item.setUnitPrice(product.getPrice());
+                        item.setTotalPrice();
+                        cart.addItem(item);
+                    }
+                    carts.add(cart);
+                }
+                cartRepository.saveAll(carts);
+            });
+        }
+        return saved;
+    }
+
+    private void generateOrders(Random random, List<User> users, List<Product> products) {
+        List<OrderStatus> statuses = List.of(OrderStatus.PENDING, OrderStatus.PAID, OrderStatus.SHIPPED,
+                OrderStatus.DELIVERED, OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+        List<Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order();
+            order.setUser(users.get(random.nextInt(users.size())));
+            order.setOrderStatus(statuses.get(random.nextInt(statuses.size())));
+            order.setOrderDate(LocalDate.now().minusDays(random.nextInt(180)));
+            List<OrderItem> items = new ArrayList<>();
+            int lines = 1 + random.nextInt(4);
+            for (int line = 0; line < lines; line++) {
+                Product product = products.get(random.nextInt(products.size()));
+                items.add(new OrderItem(order, product, 1 + random.nextInt(3), product.getPrice()));
+            }
+            order.setOrderItems(new HashSet<>(items));
+            order.setOrderTotalAmount(items.stream()
+                    .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add));
+            orders.add(order);
+        }
+        for (List<Order> batch : batches(orders)) {
+            transactionTemplate.executeWithoutResult(status -> orderRepository.saveAll(batch));
+        }
+    }
+
+    private static <T> List<List<T>> batches(List<T> items) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+            batches.add(items.subList(from, Math.min(items.size(), from + BATCH_SIZE)));
+        }
+        return batches;
+    }
+
+    private static String word(Random random) {
+        String word = WORDS.get(random.nextInt(WORDS.size()));
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    /**
+     * A number below {@code bound}, small ones far more often than large ones.
+     */
+    private static int skewed(Random random, int bound) {
+        double uniform = random.nextDouble();
+        return (int) (bound * uniform * uniform * uniform);
+    }
+
+    private static byte[] jpeg(Color color) {
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 400, 400);
+        graphics.setColor(color.darker());
+        graphics.fillOval(100, 100, 200, 200);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "jpg", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -14,6 +14,6 @@ public class ProductCatalogInitializer {
 
     @EventListener(ApplicationReadyEvent.class)
     public void exportOnStartup() {
-        productChangeListener.onProductChange();
+        productChangeListener.exportAll();
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.project.skin_me.dto;
 
+import com.project.skin_me.mapper.ImageMapper;
 import com.project.skin_me.model.Cart;
 import lombok.Data;
 
@@ -14,11 +15,11 @@ public class CartDto {
     private Set<CartItemDto> items;
     private BigDecimal totalAmount;
 
-    public CartDto(Cart cart) {
+    public CartDto(Cart cart, ImageMapper imageMapper) {
         this.cartId = cart.getId();
         this.totalAmount = cart.getTotalAmount();
         this.items = cart.getItems().stream()
-                .map(CartItemDto::new)
+                .map(item -> new CartItemDto(item, imageMapper))
                 .collect(Collectors.toSet());
     }
 }
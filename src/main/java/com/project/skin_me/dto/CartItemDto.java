@@ -1,5 +1,6 @@
 package com.project.skin_me.dto;
 
+import com.project.skin_me.mapper.ImageMapper;
 import com.project.skin_me.model.CartItem;
 import lombok.Data;
 
@@ -14,7 +15,7 @@ public class CartItemDto {
     private java.math.BigDecimal unitPrice;
     private ProductDto product;
 
-    public CartItemDto(CartItem item) {
+    public CartItemDto(CartItem item, ImageMapper imageMapper) {
         this.itemId = item.getId();
         this.quantity = item.getQuantity();
         this.unitPrice = item.getUnitPrice();
@@ -33,7 +34,7 @@ public class CartItemDto {
                     p.getCategory(),
                     p.getImages() != null
                             ? p.getImages().stream()
-                            .map(img -> new ImageDto(img.getId(), img.getFileName(), img.getDownloadUrl()))
+                            .map(imageMapper::toDto)
                             .collect(Collectors.toList())
                             : List.of()
             );
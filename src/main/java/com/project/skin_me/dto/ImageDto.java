@@ -12,5 +12,7 @@ public class ImageDto {
     private Long imageId;
     private String fileName;
     private String downloadUrl;
+    private String thumbnailUrl;
+    private String cardUrl;
 
 }
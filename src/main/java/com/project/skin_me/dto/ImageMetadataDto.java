@@ -0,0 +1,28 @@
+package com.project.skin_me.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Image row without its binary content, for listings that only need to link to the download; the URL itself
+ * is built by {@link com.project.skin_me.mapper.ImageMapper}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageMetadataDto {
+
+    private Long imageId;
+    private Long productId;
+    private String fileName;
+    private String fileType;
+    private Long size;
+    private String storageKey;
+    private String contentHash;
+    private LocalDateTime uploadedAt;
+    private Long contentId;
+
+}
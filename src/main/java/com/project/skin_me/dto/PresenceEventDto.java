@@ -0,0 +1,18 @@
+package com.project.skin_me.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PresenceEventDto {
+    private Long userId;
+    private String status; // "JOINED", "LEFT"
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,22 @@
+package com.project.skin_me.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFilterDto {
+
+    private List<ProductDto> products;
+    // Pass as {@code after} to get the next page; null on the last page
+    private Long nextCursor;
+    private int total;
+    // Attribute -> value -> matching products, counted with the other attributes' filters applied
+    private Map<String, Map<String, Integer>> facets;
+
+}
@@ -0,0 +1,18 @@
+package com.project.skin_me.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPageDto {
+
+    private List<ProductDto> products;
+    // Pass as {@code after} to get the next page; null on the last page
+    private Long nextCursor;
+
+}
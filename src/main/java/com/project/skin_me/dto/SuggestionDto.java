@@ -0,0 +1,21 @@
+package com.project.skin_me.dto;
+
+import com.project.skin_me.enums.SuggestionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionDto {
+
+    private String text;
+    private SuggestionType type;
+    // Set for product suggestions only
+    private Long productId;
+    // Of the product, or of all products of the brand or type
+    private long totalOrders;
+
+}
@@ -0,0 +1,43 @@
+package com.project.skin_me.enums;
+
+/**
+ * Resized renditions generated for every uploaded product image. The number is the longest edge in pixels.
+ */
+public enum ImageVariant {
+    THUMB(160),
+    CARD(480),
+    FULL(1200);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String getParameterValue() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Appends the {@code variant} query parameter to an image download URL.
+     */
+    public String urlFor(String downloadUrl) {
+        if (downloadUrl == null) {
+            return null;
+        }
+        return downloadUrl + (downloadUrl.contains("?") ? "&" : "?") + "variant=" + getParameterValue();
+    }
+
+    public static ImageVariant fromParameter(String value) {
+        for (ImageVariant variant : values()) {
+            if (variant.getParameterValue().equalsIgnoreCase(value)) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image variant: " + value);
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.skin_me.enums;
+
+public enum ProductChangeType {
+    ADDED,
+    UPDATED,
+    DELETED
+}
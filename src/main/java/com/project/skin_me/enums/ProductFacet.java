@@ -0,0 +1,30 @@
+package com.project.skin_me.enums;
+
+import java.util.function.Function;
+
+import com.project.skin_me.model.Product;
+
+/**
+ * Product attributes a listing can be filtered and counted by, each named as its query parameter.
+ */
+public enum ProductFacet {
+    CATEGORY("category", product -> product.getCategory() != null ? product.getCategory().getName() : null),
+    BRAND("brand", Product::getBrand),
+    PRODUCT_TYPE("productType", Product::getProductType);
+
+    private final String parameterValue;
+    private final Function<Product, String> value;
+
+    ProductFacet(String parameterValue, Function<Product, String> value) {
+        this.parameterValue = parameterValue;
+        this.value = value;
+    }
+
+    public String getParameterValue() {
+        return parameterValue;
+    }
+
+    public String valueOf(Product product) {
+        return value.apply(product);
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.skin_me.enums;
+
+import java.util.Comparator;
+
+import com.project.skin_me.model.Product;
+
+/**
+ * Orders a product listing can be paged in. Every order ends with the product id, so it is total and a
+ * page cursor always identifies a single position.
+ */
+public enum ProductSort {
+    ID("id", Comparator.comparing(Product::getId, Comparator.nullsFirst(Comparator.naturalOrder()))),
+    PRICE("price", Comparator.comparing(Product::getPrice, Comparator.nullsFirst(Comparator.naturalOrder()))),
+    NAME("name", Comparator.comparing(Product::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))),
+    TOTAL_ORDERS("totalOrders", Comparator.comparingInt(Product::getTotalOrders));
+
+    private final String parameterValue;
+    private final Comparator<Product> ascending;
+    private final Comparator<Product> descending;
+
+    ProductSort(String parameterValue, Comparator<Product> order) {
+        this.parameterValue = parameterValue;
+        this.ascending = "id".equals(parameterValue)
+                ? order
+                : order.thenComparing(Product::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+        this.descending = ascending.reversed();
+    }
+
+    public String getParameterValue() {
+        return parameterValue;
+    }
+
+    public Comparator<Product> comparator(boolean descendingOrder) {
+        return descendingOrder ? descending : ascending;
+    }
+
+    public static ProductSort fromParameter(String value) {
+        for (ProductSort sort : values()) {
+            if (sort.getParameterValue().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort: " + value);
+    }
+}
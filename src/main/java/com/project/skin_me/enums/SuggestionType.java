@@ -0,0 +1,7 @@
+package com.project.skin_me.enums;
+
+public enum SuggestionType {
+    PRODUCT,
+    BRAND,
+    PRODUCT_TYPE
+}
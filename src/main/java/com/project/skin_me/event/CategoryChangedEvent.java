@@ -0,0 +1,21 @@
+package com.project.skin_me.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * A category was renamed or deleted. Products keep a reference to their category, so whatever holds products
+ * outside the database has to reload them for the change to show.
+ */
+public class CategoryChangedEvent extends ApplicationEvent {
+
+    private final Long categoryId;
+
+    public CategoryChangedEvent(Object source, Long categoryId) {
+        super(source);
+        this.categoryId = categoryId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+}
@@ -1,10 +1,16 @@
-
 package com.project.skin_me.event;
 
-import org.springframework.context.ApplicationEvent;
+import java.util.Set;
+
+import com.project.skin_me.enums.ProductChangeType;
+
+public class ProductAddedEvent extends ProductChangedEvent {
+
+    // Every property of a new product counts as changed
+    public static final Set<String> ALL_FIELDS = Set.of("name", "brand", "price", "productType", "inventory",
+            "description", "howToUse", "category", "status");
 
-public class ProductAddedEvent extends ApplicationEvent {
-    public ProductAddedEvent(Object source) {
-        super(source);
+    public ProductAddedEvent(Object source, Long productId) {
+        super(source, productId, ProductChangeType.ADDED, ALL_FIELDS);
     }
-}
\ No newline at end of file
+}
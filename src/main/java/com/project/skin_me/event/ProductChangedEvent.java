@@ -0,0 +1,41 @@
+package com.project.skin_me.event;
+
+import java.util.Set;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.project.skin_me.enums.ProductChangeType;
+
+/**
+ * A change to a single product. {@code changedFields} names the {@link com.project.skin_me.model.Product}
+ * properties that changed, so listeners can patch what they keep instead of reloading the catalog.
+ */
+public abstract class ProductChangedEvent extends ApplicationEvent {
+
+    private final Long productId;
+    private final ProductChangeType changeType;
+    private final Set<String> changedFields;
+
+    protected ProductChangedEvent(Object source, Long productId, ProductChangeType changeType, Set<String> changedFields) {
+        super(source);
+        this.productId = productId;
+        this.changeType = changeType;
+        this.changedFields = Set.copyOf(changedFields);
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public ProductChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Set<String> getChangedFields() {
+        return changedFields;
+    }
+
+    public boolean hasChanged(String field) {
+        return changedFields.contains(field);
+    }
+}
@@ -1,10 +1,13 @@
 // com.project.skin_me.event.ProductDeletedEvent
 package com.project.skin_me.event;
 
-import org.springframework.context.ApplicationEvent;
+import java.util.Set;
 
-public class ProductDeletedEvent extends ApplicationEvent {
-    public ProductDeletedEvent(Object source) {
-        super(source);
+import com.project.skin_me.enums.ProductChangeType;
+
+// Products are deleted softly, by switching them to INACTIVE
+public class ProductDeletedEvent extends ProductChangedEvent {
+    public ProductDeletedEvent(Object source, Long productId) {
+        super(source, productId, ProductChangeType.DELETED, Set.of("status"));
     }
-}
\ No newline at end of file
+}
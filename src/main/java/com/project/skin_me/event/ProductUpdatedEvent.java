@@ -1,10 +1,11 @@
-
 package com.project.skin_me.event;
 
-import org.springframework.context.ApplicationEvent;
+import java.util.Set;
+
+import com.project.skin_me.enums.ProductChangeType;
 
-public class ProductUpdatedEvent extends ApplicationEvent {
-    public ProductUpdatedEvent(Object source) {
-        super(source);
+public class ProductUpdatedEvent extends ProductChangedEvent {
+    public ProductUpdatedEvent(Object source, Long productId, Set<String> changedFields) {
+        super(source, productId, ProductChangeType.UPDATED, changedFields);
     }
-}
\ No newline at end of file
+}
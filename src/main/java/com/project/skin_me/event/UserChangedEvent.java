@@ -0,0 +1,45 @@
+package com.project.skin_me.event;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * A change to a user that what is kept about them outside the database must follow. {@code changedFields}
+ * names the {@link com.project.skin_me.model.User} properties that changed, or is {@link #DELETED} for a
+ * deleted user; {@code emails} are the user's emails before and after the change.
+ */
+public class UserChangedEvent extends ApplicationEvent {
+
+    public static final Set<String> DELETED = Set.of("deleted");
+
+    private final Long userId;
+    private final Set<String> emails;
+    private final Set<String> changedFields;
+
+    public UserChangedEvent(Object source, Long userId, Set<String> changedFields, String... emails) {
+        super(source);
+        this.userId = userId;
+        this.emails = Stream.of(emails).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+        this.changedFields = Set.copyOf(changedFields);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Set<String> getEmails() {
+        return emails;
+    }
+
+    public Set<String> getChangedFields() {
+        return changedFields;
+    }
+
+    public boolean hasChanged(String field) {
+        return changedFields.contains(field) || changedFields.equals(DELETED);
+    }
+}
@@ -1,7 +1,9 @@
 package com.project.skin_me.filter;
 
-import com.project.skin_me.repository.UserRepository;
+import com.project.skin_me.security.PathPrefixMatcher;
 import com.project.skin_me.security.user.ShopUserDetails;
+import com.project.skin_me.service.presence.PresenceService;
+import com.project.skin_me.service.user.UserActivityBuffer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,28 +18,28 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class UserActivityFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(UserActivityFilter.class);
-    private final UserRepository userRepository;
+    private final UserActivityBuffer activityBuffer;
+    private final PresenceService presenceService;
 
-    private static final List<String> SKIP_PATHS = List.of(
-            "/v3/api-docs",
-            "/swagger",
-            "/webjars",
-            "/api/v1/auth/login",
-            "/api/v1/auth/logout",
-            "/api/v1/auth/signup",
-            "/login-page",
-            "/signup",
-            "/reset-password",
-            "/css",
-            "/js",
-            "/images"
+    private static final PathPrefixMatcher SKIP_PATHS = PathPrefixMatcher.of(
+            "/v3/api-docs*",
+            "/swagger*",
+            "/webjars*",
+            "/api/v1/auth/login*",
+            "/api/v1/auth/logout*",
+            "/api/v1/auth/signup*",
+            "/login-page*",
+            "/signup*",
+            "/reset-password*",
+            "/css*",
+            "/js*",
+            "/images*"
     );
 
     @Override
@@ -47,7 +49,7 @@ public class UserActivityFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
 
         // Skip tracking for certain paths
-        if (SKIP_PATHS.stream().anyMatch(path::startsWith)) {
+        if (SKIP_PATHS.matches(path)) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -61,21 +63,12 @@ public class UserActivityFilter extends OncePerRequestFilter {
                 ShopUserDetails userDetails = (ShopUserDetails) authentication.getPrincipal();
                 Long userId = userDetails.getId();
                 
-                // Update user's last activity timestamp and IP address
-                userRepository.findById(userId).ifPresent(user -> {
-                    LocalDateTime now = LocalDateTime.now();
-                    String ipAddress = getClientIpAddress(request);
-                    
-                    // Only update if user is marked as online
-                    if (user.isOnline()) {
-                        user.setLastActivity(now);
-                        if (ipAddress != null && !ipAddress.isEmpty() && !"unknown".equals(ipAddress)) {
-                            user.setLastIpAddress(ipAddress);
-                        }
-                        userRepository.save(user);
-                        logger.debug("Updated activity for user ID: {} from IP: {}", userId, ipAddress);
-                    }
-                });
+                // Written in the background; the request does not wait on the user table
+                String ipAddress = getClientIpAddress(request);
+                boolean knownIp = ipAddress != null && !ipAddress.isEmpty() && !"unknown".equals(ipAddress);
+                activityBuffer.record(userId, LocalDateTime.now(), knownIp ? ipAddress : null);
+                presenceService.touch(userId);
+                logger.debug("Recorded activity for user ID: {} from IP: {}", userId, ipAddress);
             }
         } catch (Exception e) {
             logger.error("Error updating user activity: {}", e.getMessage(), e);
@@ -0,0 +1,44 @@
+package com.project.skin_me.mapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.project.skin_me.dto.ImageDto;
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
+import com.project.skin_me.model.Image;
+
+/**
+ * Links images to their download under {@code api.prefix}: the image id, versioned by its content hash, and
+ * one URL per listed variant.
+ */
+@Component
+public class ImageMapper {
+
+    private final String downloadPath;
+
+    public ImageMapper(@Value("${api.prefix}") String apiPrefix) {
+        this.downloadPath = apiPrefix + "/images/image/download/";
+    }
+
+    public String downloadUrl(Long imageId, String contentHash) {
+        return downloadPath + imageId + Image.downloadVersion(contentHash);
+    }
+
+    public String downloadUrl(ImageMetadataDto image) {
+        return downloadUrl(image.getImageId(), image.getContentHash());
+    }
+
+    public ImageDto toDto(ImageMetadataDto image) {
+        return toDto(image.getImageId(), image.getFileName(), downloadUrl(image));
+    }
+
+    public ImageDto toDto(Image image) {
+        return toDto(image.getId(), image.getFileName(), downloadUrl(image.getId(), image.getContentHash()));
+    }
+
+    private ImageDto toDto(Long imageId, String fileName, String downloadUrl) {
+        return new ImageDto(imageId, fileName, downloadUrl, ImageVariant.THUMB.urlFor(downloadUrl),
+                ImageVariant.CARD.urlFor(downloadUrl));
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.skin_me.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.project.skin_me.dto.OrderDto;
+import com.project.skin_me.dto.OrderItemDto;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.OrderItem;
+import com.project.skin_me.model.Product;
+
+@Component
+public class OrderMapper {
+
+    public OrderDto toDto(Order order) {
+        OrderDto dto = new OrderDto();
+        dto.setOrderId(order.getOrderId());
+        dto.setUserId(order.getUser() != null ? order.getUser().getId() : null);
+        dto.setOrderDate(order.getOrderDate());
+        dto.setTotalAmount(order.getOrderTotalAmount());
+        dto.setOrderStatus(order.getOrderStatus() != null ? order.getOrderStatus().name() : null);
+        if (order.getOrderItems() != null) {
+            List<OrderItemDto> items = new ArrayList<>(order.getOrderItems().size());
+            for (OrderItem item : order.getOrderItems()) {
+                items.add(toDto(item));
+            }
+            dto.setOrderItems(items);
+        }
+        return dto;
+    }
+
+    public OrderItemDto toDto(OrderItem item) {
+        OrderItemDto dto = new OrderItemDto();
+        Product product = item.getProduct();
+        if (product != null) {
+            dto.setProductId(product.getId());
+            dto.setProductName(product.getName());
+            dto.setProductBrand(product.getBrand());
+            dto.setProductType(product.getProductType());
+        }
+        dto.setQuantity(item.getQuantity());
+        dto.setPrice(item.getPrice());
+        return dto;
+    }
+}
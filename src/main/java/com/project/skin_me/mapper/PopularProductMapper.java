@@ -0,0 +1,25 @@
+package com.project.skin_me.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.project.skin_me.dto.PopularProductDto;
+import com.project.skin_me.model.PopularProduct;
+import com.project.skin_me.model.Product;
+
+@Component
+public class PopularProductMapper {
+
+    public PopularProductDto toDto(PopularProduct popularProduct) {
+        PopularProductDto dto = new PopularProductDto();
+        dto.setQuantitySold(popularProduct.getQuantitySold());
+        dto.setLastPurchasedDate(popularProduct.getLastPurchasedDate());
+        Product product = popularProduct.getProduct();
+        if (product != null) {
+            dto.setProductId(product.getId());
+            dto.setName(product.getName());
+            dto.setPrice(product.getPrice());
+            dto.setBrand(product.getBrand());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.skin_me.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.project.skin_me.dto.ProductDto;
+import com.project.skin_me.model.Product;
+
+/**
+ * Copies a product's listing fields into its DTO. Images are left out: ProductService fills them from a
+ * batched metadata query, so the lazy collection is never touched here.
+ */
+@Component
+public class ProductMapper {
+
+    public ProductDto toDto(Product product) {
+        ProductDto dto = new ProductDto();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setBrand(product.getBrand());
+        dto.setPrice(product.getPrice());
+        dto.setProductType(product.getProductType());
+        dto.setInventory(product.getInventory());
+        dto.setDescription(product.getDescription());
+        dto.setHowToUse(product.getHowToUse());
+        dto.setCategory(product.getCategory());
+        return dto;
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.skin_me.mapper;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.project.skin_me.dto.UserDto;
+import com.project.skin_me.model.Role;
+import com.project.skin_me.model.User;
+
+@Component
+public class UserMapper {
+
+    public UserDto toDto(User user) {
+        UserDto dto = new UserDto();
+        dto.setId(user.getId());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setEmail(user.getEmail());
+        dto.setGoogleId(user.getGoogleId());
+        dto.setEnabled(user.isEnabled());
+        dto.setRegistrationDate(user.getRegistrationDate());
+        dto.setLastLogin(user.getLastLogin());
+        dto.setOnline(user.isOnline());
+        if (user.getRoles() != null) {
+            Set<String> roles = new HashSet<>(user.getRoles().size() * 2);
+            for (Role role : user.getRoles()) {
+                roles.add(role.getName());
+            }
+            dto.setRoles(roles);
+        }
+        return dto;
+    }
+}
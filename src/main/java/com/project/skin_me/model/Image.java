@@ -1,9 +1,12 @@
 package com.project.skin_me.model;
 
+import java.time.LocalDateTime;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -22,6 +25,9 @@ import lombok.Setter;
 @Entity
 public class Image {
 
+    // Length of the content hash prefix used as the cache-busting version in download URLs
+    public static final int URL_VERSION_LENGTH = 16;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,10 +37,34 @@ public class Image {
     @Lob
     @Column(columnDefinition = "LONGBLOB") // for MySQL
     private byte[] image;
-    private String downloadUrl;
+
+    private Long size;
+
+    // Shared, deduplicated content; null for rows that predate it and still hold their own bytes
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_id")
+    @JsonIgnore
+    private ImageContent content;
+
+    // Copy of the content's location in the filesystem storage, so downloads need not join image_content
+    private String storageKey;
+
+    // Hex SHA-256 of the content, served as the strong ETag of the download
+    @Column(length = 64)
+    private String contentHash;
+
+    private LocalDateTime uploadedAt;
 
     @ManyToOne
     @JoinColumn(name = "product_id")
     @JsonIgnore
     private Product product;
+
+    /**
+     * The query string that versions the download URL of content with the hash, so a new upload is never
+     * served from a stale cache; empty for rows that predate content hashes.
+     */
+    public static String downloadVersion(String contentHash) {
+        return contentHash == null ? "" : "?v=" + contentHash.substring(0, URL_VERSION_LENGTH);
+    }
 }
@@ -0,0 +1,50 @@
+package com.project.skin_me.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The bytes of an uploaded image, stored once per distinct SHA-256 and shared by every {@link Image} row
+ * with the same content; the hash is unique, so concurrent uploads of the same content share one row. The
+ * row and its stored content are removed when the last image releases it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "image_content",
+        uniqueConstraints = @UniqueConstraint(name = "uk_image_content_hash", columnNames = "contentHash"))
+public class ImageContent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 64, nullable = false)
+    private String contentHash;
+
+    private long size;
+
+    // Location in the filesystem storage; null when the bytes are kept in the image column below
+    private String storageKey;
+
+    @Lob
+    @Column(columnDefinition = "LONGBLOB") // for MySQL
+    private byte[] image;
+
+    private int referenceCount;
+
+    public ImageContent(String contentHash, long size) {
+        this.contentHash = contentHash;
+        this.size = size;
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.skin_me.model;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import com.project.skin_me.enums.ImageVariant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A resized rendition of an {@link ImageContent} kept by the database storage, one row per variant. The rows
+ * are deleted by the database together with their content.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "image_content_variant",
+        uniqueConstraints = @UniqueConstraint(name = "uk_image_content_variant", columnNames = {"content_id", "variant"}))
+public class ImageContentVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "content_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ImageContent content;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private ImageVariant variant;
+
+    @Lob
+    @Column(columnDefinition = "LONGBLOB") // for MySQL
+    private byte[] image;
+
+    public ImageContentVariant(ImageContent content, ImageVariant variant, byte[] image) {
+        this.content = content;
+        this.variant = variant;
+        this.image = image;
+    }
+}
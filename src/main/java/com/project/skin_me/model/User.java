@@ -19,6 +19,8 @@ import java.util.Set;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+// Lets the inactivity sweep reach the online users without scanning everyone
+@Table(indexes = @Index(name = "idx_user_online_activity", columnList = "is_online, last_activity"))
 public class User {
 
         @Id
@@ -0,0 +1,39 @@
+package com.project.skin_me.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.project.skin_me.model.ImageContent;
+
+public interface ImageContentRepository extends JpaRepository<ImageContent, Long> {
+
+    @Query("SELECT c.id FROM ImageContent c WHERE c.contentHash = :contentHash")
+    Optional<Long> findIdByContentHash(String contentHash);
+
+    @Query("SELECT c.image FROM ImageContent c WHERE c.id = :id")
+    byte[] findBytesById(Long id);
+
+    @Query("SELECT c.storageKey FROM ImageContent c WHERE c.id = :id")
+    String findStorageKeyById(Long id);
+
+    // Reference counts are changed in place so the LONGBLOB of a shared row is never loaded
+    @Modifying
+    @Query("UPDATE ImageContent c SET c.referenceCount = c.referenceCount + 1 WHERE c.id = :id")
+    int incrementReferenceCount(Long id);
+
+    @Modifying
+    @Query("UPDATE ImageContent c SET c.referenceCount = c.referenceCount - 1 WHERE c.id = :id")
+    int decrementReferenceCount(Long id);
+
+    @Modifying
+    @Query("DELETE FROM ImageContent c WHERE c.id = :id AND c.referenceCount <= 0")
+    int deleteIfUnreferenced(Long id);
+
+    // Fills in the location of content inserted without one, once its bytes are stored
+    @Modifying
+    @Query("UPDATE ImageContent c SET c.storageKey = :storageKey, c.image = :image WHERE c.id = :id")
+    int updateStoredContent(Long id, String storageKey, byte[] image);
+}
@@ -0,0 +1,16 @@
+package com.project.skin_me.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.project.skin_me.enums.ImageVariant;
+import com.project.skin_me.model.ImageContentVariant;
+
+public interface ImageContentVariantRepository extends JpaRepository<ImageContentVariant, Long> {
+
+    @Query("SELECT v.image FROM ImageContentVariant v WHERE v.content.id = :contentId AND v.variant = :variant")
+    byte[] findBytes(Long contentId, ImageVariant variant);
+
+    @Query("SELECT COUNT(v) > 0 FROM ImageContentVariant v WHERE v.content.id = :contentId AND v.variant = :variant")
+    boolean exists(Long contentId, ImageVariant variant);
+}
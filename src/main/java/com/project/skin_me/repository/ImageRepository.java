@@ -1,13 +1,48 @@
 package com.project.skin_me.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import com.project.skin_me.dto.ImageMetadataDto;
 import com.project.skin_me.model.Image;
+import com.project.skin_me.model.ImageContent;
 
 public interface ImageRepository extends JpaRepository<Image, Long> {
 
+    String METADATA_SELECT = "SELECT new com.project.skin_me.dto.ImageMetadataDto("
+            + "i.id, i.product.id, i.fileName, i.fileType, i.size, i.storageKey, "
+            + "i.contentHash, i.uploadedAt, i.content.id) FROM Image i ";
+
     List<Image> findByProductId(Long id);
 
+    @Query(METADATA_SELECT + "WHERE i.id = :id")
+    Optional<ImageMetadataDto> findMetadataById(Long id);
+
+    @Query(METADATA_SELECT + "WHERE i.product.id = :productId ORDER BY i.id")
+    List<ImageMetadataDto> findMetadataByProductId(Long productId);
+
+    @Query(METADATA_SELECT + "WHERE i.product.id IN :productIds ORDER BY i.id")
+    List<ImageMetadataDto> findMetadataByProductIdIn(Collection<Long> productIds);
+
+    @Query("SELECT i.image FROM Image i WHERE i.id = :id")
+    byte[] findContentById(Long id);
+
+    // Points the row at new content in place, so bytes it may still hold itself are never loaded
+    @Modifying
+    @Query("UPDATE Image i SET i.fileName = :fileName, i.fileType = :fileType, i.size = :size, "
+            + "i.content = :content, i.storageKey = :storageKey, i.contentHash = :contentHash, i.image = NULL, "
+            + "i.uploadedAt = :uploadedAt WHERE i.id = :id")
+    int updateContent(Long id, String fileName, String fileType, Long size, ImageContent content,
+            String storageKey, String contentHash, LocalDateTime uploadedAt);
+
+    @Query("SELECT i.id FROM Image i WHERE i.content IS NULL AND i.storageKey IS NULL AND i.image IS NOT NULL ORDER BY i.id")
+    List<Long> findIdsStoredInDatabase(Pageable pageable);
+
 }
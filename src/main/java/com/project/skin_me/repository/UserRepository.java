@@ -2,8 +2,13 @@ package com.project.skin_me.repository;
 
 import com.project.skin_me.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
 
-}
\ No newline at end of file
+    @Modifying
+    @Query("UPDATE User u SET u.isOnline = false, u.lastIpAddress = null "
+            + "WHERE u.isOnline = true AND (u.lastActivity < :threshold OR u.lastActivity IS NULL)")
+    int markOnlineUsersOfflineInactiveSince(LocalDateTime threshold);
+
+    @Modifying
+    @Query("UPDATE User u SET u.isOnline = true WHERE u.id IN :ids")
+    int markOnline(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE User u SET u.isOnline = false, u.lastIpAddress = null WHERE u.id IN :ids")
+    int markOffline(Collection<Long> ids);
+
+    @Query("SELECT u.id AS id, u.lastActivity AS lastActivity FROM User u WHERE u.isOnline = true")
+    List<ActivityView> findOnlineUserActivity();
+
+    interface ActivityView {
+        Long getId();
+        LocalDateTime getLastActivity();
+    }
+
+}
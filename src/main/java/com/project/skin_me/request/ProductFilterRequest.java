@@ -0,0 +1,21 @@
+package com.project.skin_me.request;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Query parameters of a filtered product listing. Values of one attribute are alternatives
+ * ({@code ?brand=a&brand=b}); different attributes must all match.
+ */
+@Data
+public class ProductFilterRequest {
+    private List<String> category;
+    private List<String> brand;
+    private List<String> productType;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    // Only products with inventory left
+    private boolean inStock;
+}
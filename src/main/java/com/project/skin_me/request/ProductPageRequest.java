@@ -0,0 +1,29 @@
+package com.project.skin_me.request;
+
+import lombok.Data;
+
+/**
+ * Query parameters of a paged product listing: {@code ?after=<id>&limit=&sort=&direction=}.
+ */
+@Data
+public class ProductPageRequest {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    // Id of the last product of the previous page
+    private Long after;
+    // DEFAULT_LIMIT when not given
+    private Integer limit;
+    // id, price, name or totalOrders; id when not given
+    private String sort;
+    // asc or desc; asc when not given
+    private String direction;
+
+    /**
+     * Whether any paging parameter was given. Listings requested without one keep their original response:
+     * every product, as a plain list.
+     */
+    public boolean isPaged() {
+        return after != null || limit != null || sort != null || direction != null;
+    }
+}
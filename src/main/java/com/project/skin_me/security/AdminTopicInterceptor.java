@@ -0,0 +1,57 @@
+package com.project.skin_me.security;
+
+import java.security.Principal;
+import java.util.Set;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Keeps STOMP topics meant for administrators, such as the one listing who is online, from anyone else. The
+ * WebSocket endpoint is public, so the check is made per message against the user the session was opened
+ * as: only an administrator may subscribe, and no client may send to these topics at all, since only the
+ * server publishes on them.
+ */
+public class AdminTopicInterceptor implements ChannelInterceptor {
+
+    // The simple broker matches subscriptions as Ant patterns, so "/topic/**" would receive these too
+    private static final AntPathMatcher DESTINATIONS = new AntPathMatcher();
+
+    private final Set<String> topics;
+
+    public AdminTopicInterceptor(String... topics) {
+        this.topics = Set.of(topics);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getDestination() == null) {
+            return message;
+        }
+        if (StompCommand.SUBSCRIBE.equals(accessor.getCommand()) && covers(accessor.getDestination())
+                && !isAdmin(accessor.getUser())) {
+            throw new AccessDeniedException("Only administrators may subscribe to " + accessor.getDestination());
+        }
+        if (StompCommand.SEND.equals(accessor.getCommand()) && topics.contains(accessor.getDestination())) {
+            throw new AccessDeniedException("Clients may not send to " + accessor.getDestination());
+        }
+        return message;
+    }
+
+    private boolean covers(String subscription) {
+        return topics.stream().anyMatch(topic -> DESTINATIONS.match(subscription, topic));
+    }
+
+    private static boolean isAdmin(Principal user) {
+        return user instanceof Authentication authentication && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.skin_me.security;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A fixed set of request paths compiled once into a trie, so testing a path walks its characters once
+ * whatever the number of patterns, without allocating. A pattern is one of
+ * <ul>
+ *     <li>{@code /login-page}: that path only;</li>
+ *     <li>{@code /css/**}: {@code /css} and every path below it, as in Spring's path patterns;</li>
+ *     <li>{@code /swagger*}: every path starting with {@code /swagger}, whatever follows.</li>
+ * </ul>
+ */
+public final class PathPrefixMatcher {
+
+    private static final byte EXACT = 1;
+    private static final byte SUBTREE = 2;
+    private static final byte PREFIX = 4;
+
+    private final Node root;
+
+    private PathPrefixMatcher(Node root) {
+        this.root = root;
+    }
+
+    public static PathPrefixMatcher of(String... patterns) {
+        Builder root = new Builder();
+        for (String pattern : patterns) {
+            byte kind;
+            String path;
+            if (pattern.endsWith("/**")) {
+                kind = SUBTREE;
+                path = pattern.substring(0, pattern.length() - 3);
+            } else if (pattern.endsWith("*")) {
+                kind = PREFIX;
+                path = pattern.substring(0, pattern.length() - 1);
+            } else {
+                kind = EXACT;
+                path = pattern;
+            }
+            if (path.indexOf('*') >= 0 || path.indexOf('?') >= 0 || path.indexOf('{') >= 0) {
+                throw new IllegalArgumentException("Unsupported path pattern: " + pattern);
+            }
+            Builder node = root;
+            for (int i = 0; i < path.length(); i++) {
+                node = node.children.computeIfAbsent(path.charAt(i), c -> new Builder());
+            }
+            node.kinds |= kind;
+        }
+        return new PathPrefixMatcher(root.build());
+    }
+
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        Node node = root;
+        int length = path.length();
+        for (int i = 0; ; i++) {
+            if ((node.kinds & PREFIX) != 0) {
+                return true;
+            }
+            if ((node.kinds & SUBTREE) != 0 && (i == length || path.charAt(i) == '/')) {
+                return true;
+            }
+            if (i == length) {
+                return (node.kinds & EXACT) != 0;
+            }
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    private static final class Node {
+
+        private final byte kinds;
+        // Sorted, so a child is found by binary search
+        private final char[] labels;
+        private final Node[] children;
+
+        private Node(byte kinds, char[] labels, Node[] children) {
+            this.kinds = kinds;
+            this.labels = labels;
+            this.children = children;
+        }
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+    }
+
+    private static final class Builder {
+
+        private byte kinds;
+        private final Map<Character, Builder> children = new TreeMap<>();
+
+        private Node build() {
+            char[] labels = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> child : children.entrySet()) {
+                labels[i] = child.getKey();
+                nodes[i++] = child.getValue().build();
+            }
+            return new Node(kinds, labels, nodes);
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package com.project.skin_me.security.jwt;
 
+import com.project.skin_me.security.PathPrefixMatcher;
+import com.project.skin_me.security.user.ShopUserDetails;
 import com.project.skin_me.security.user.ShopUserDetailsService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -21,20 +26,26 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final ShopUserDetailsService userDetailsService;
+    private final TokenRevocationList tokenRevocationList;
 
-    private static final List<String> SKIP_PATHS = List.of(
-            "/v3/api-docs",
-            "/swagger",
-            "/webjars",
-            "/api/v1/auth",
-            "/login-page",
-            "/login",
-            "/signup",
-            "/reset-password",
-            "/logout",
-            "/css",
-            "/js",
-            "/.well-known"
+    // Trust the verified claims instead of reading the user on every request
+    @Value("${auth.token.stateless:false}")
+    private boolean stateless;
+
+    // Plain prefixes, as the startsWith checks these replaced were: "/login*" covers "/login-page" too
+    private static final PathPrefixMatcher SKIP_PATHS = PathPrefixMatcher.of(
+            "/v3/api-docs*",
+            "/swagger*",
+            "/webjars*",
+            "/api/v1/auth*",
+            "/login-page*",
+            "/login*",
+            "/signup*",
+            "/reset-password*",
+            "/logout*",
+            "/css*",
+            "/js*",
+            "/.well-known*"
     );
 
     @Override
@@ -43,7 +54,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String path = request.getRequestURI();
 
-        if (SKIP_PATHS.stream().anyMatch(path::startsWith)) {
+        if (SKIP_PATHS.matches(path)) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -61,12 +72,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         try {
             String jwt = parseToken(request);
             if (jwt != null) {
-                if (jwtUtils.validateToken(jwt)) {
-                    String username = jwtUtils.getUsernameFromToken(jwt);
-                    var userDetails = userDetailsService.loadUserByUsername(username);
-                    var auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                }
+                // One signature check per request; the claims carry the username
+                Claims claims = jwtUtils.parseClaims(jwt);
+                UserDetails userDetails = stateless
+                        ? principalFromClaims(claims)
+                        : userDetailsService.loadUserByUsername(claims.getSubject());
+                var auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(auth);
             }
         } catch (io.jsonwebtoken.ExpiredJwtException e) {
             // Token expired - clear token cookie and redirect to login for web requests
@@ -99,6 +111,19 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private ShopUserDetails principalFromClaims(Claims claims) {
+        Long userId = claims.get("id", Long.class);
+        if (userId == null) {
+            throw new JwtException("Token has no user id");
+        }
+        if (tokenRevocationList.isRevoked(userId, claims.getIssuedAt())) {
+            throw new JwtException("Token has been revoked");
+        }
+        List<?> roles = claims.get("roles", List.class);
+        return ShopUserDetails.buildUserDetails(userId, claims.getSubject(),
+                roles == null ? List.of() : roles.stream().map(String::valueOf).toList());
+    }
+
     private String parseToken(HttpServletRequest request) {
         // Try Authorization header first
         String header = request.getHeader("Authorization");
@@ -17,11 +17,17 @@ import java.util.List;
 @Component
 public class JwtUtils {
 
-    @Value("${auth.token.jwtSecret}")
-    private String JwtSecret;
-
-    @Value("${auth.token.jwtExpirationMs}")
-    private int JwtExpirationTime;
+    private final int JwtExpirationTime;
+    // Decoded and built once: the parser is immutable and safe to share between requests
+    private final Key key;
+    private final JwtParser parser;
+
+    public JwtUtils(@Value("${auth.token.jwtSecret}") String jwtSecret,
+                    @Value("${auth.token.jwtExpirationMs}") int jwtExpirationTime) {
+        this.JwtExpirationTime = jwtExpirationTime;
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
 
     public String generateTokenForUser(Authentication authentication) {
         ShopUserDetails userPrincipal = (ShopUserDetails) authentication.getPrincipal();
@@ -36,31 +42,20 @@ public class JwtUtils {
                 .claim("roles", roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + JwtExpirationTime))
-                .signWith(key(), SignatureAlgorithm.HS256).compact();
-    }
-
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtSecret));
+                .signWith(key, SignatureAlgorithm.HS256).compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
-
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns its claims: the email as subject, the user {@code id} and the
+     * {@code roles}. Throws {@link ExpiredJwtException} for an expired token and {@link JwtException} for
+     * any other invalid one.
+     */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(token);
-
-            return true;
-        } catch (ExpiredJwtException | UnsupportedJwtException | MalformedJwtException | SignatureException | IllegalArgumentException e) {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            throw e;
+        } catch (UnsupportedJwtException | MalformedJwtException | SignatureException | IllegalArgumentException e) {
             throw new JwtException(e.getMessage());
         }
     }
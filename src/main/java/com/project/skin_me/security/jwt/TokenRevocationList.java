@@ -0,0 +1,74 @@
+package com.project.skin_me.security.jwt;
+
+import com.project.skin_me.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Users whose tokens issued up to some moment must no longer be accepted, because their roles, email,
+ * password or status changed after the tokens were signed. Only consulted in stateless mode
+ * ({@code auth.token.stateless=true}), where the token's claims are trusted without reading the user.
+ * An entry is kept only as long as the tokens it revokes could still be valid, so the list stays small.
+ * It lives in memory: it is not shared between instances and does not survive a restart.
+ */
+@Component
+public class TokenRevocationList {
+
+    // Tokens carry the email and roles, and stand for the password and the enabled account
+    private static final Set<String> TOKEN_FIELDS = Set.of("email", "roles", "password", "enabled");
+
+    private final long tokenLifetimeMs;
+    private final LongSupplier clock;
+    // User id to the time, in epoch milliseconds, up to which the user's tokens are revoked
+    private final Map<Long, Long> revokedUntil = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenRevocationList(@Value("${auth.token.jwtExpirationMs}") long tokenLifetimeMs) {
+        this(tokenLifetimeMs, System::currentTimeMillis);
+    }
+
+    TokenRevocationList(long tokenLifetimeMs, LongSupplier clock) {
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        this.clock = clock;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (TOKEN_FIELDS.stream().anyMatch(event::hasChanged)) {
+            revoke(event.getUserId());
+        }
+    }
+
+    /**
+     * Revokes every token issued to the user until now.
+     */
+    public void revoke(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        revokedUntil.merge(userId, now, Math::max);
+        // Revocations are rare, so dropping the entries of tokens that have expired anyway can be done here
+        revokedUntil.values().removeIf(until -> until + tokenLifetimeMs < now);
+    }
+
+    /**
+     * Whether a token issued to the user at {@code issuedAt} has been revoked. The issue time has only second
+     * precision, so a token issued in the second of a revocation counts as revoked.
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long until = revokedUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() <= until;
+    }
+}
@@ -27,9 +27,7 @@ public class ShopUserDetails implements UserDetails {
     public static ShopUserDetails buildUserDetails(User user) {
         List<GrantedAuthority> authorities = user.getRoles()
                 .stream()
-                .map(role -> new SimpleGrantedAuthority(
-                        "ROLE_" + role.getName().toUpperCase().replace("ROLE_", "")
-                ))
+                .map(role -> authority(role.getName()))
                 .collect(Collectors.toList());
 
         return new ShopUserDetails(
@@ -43,6 +41,21 @@ public class ShopUserDetails implements UserDetails {
         );
     }
 
+    /**
+     * The principal of a verified token, from its claims alone: no names and no password.
+     */
+    public static ShopUserDetails buildUserDetails(Long id, String email, Collection<String> roles) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(ShopUserDetails::authority)
+                .collect(Collectors.toList());
+
+        return new ShopUserDetails(id, email, null, null, null, true, authorities);
+    }
+
+    private static GrantedAuthority authority(String roleName) {
+        return new SimpleGrantedAuthority("ROLE_" + roleName.toUpperCase().replace("ROLE_", ""));
+    }
+
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -12,9 +12,14 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ShopUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return userDetailsCache.get(email, this::load);
+    }
+
+    private UserDetails load(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         return ShopUserDetails.buildUserDetails(user);
@@ -0,0 +1,134 @@
+package com.project.skin_me.security.user;
+
+import com.project.skin_me.event.UserChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * The user details of recently authenticated users by email, so form logins, OAuth callbacks and JWT
+ * requests in the default (not stateless) mode do not read the user and its roles every time. Holds at most
+ * {@code auth.user-cache.max-size} users, least recently used out first, each for at most
+ * {@code auth.user-cache.ttl-ms}; a committed {@link UserChangedEvent} drops the user at once. Hits, misses,
+ * evictions and the size are published as the {@code cache.*} meters with the tag {@code cache=userDetails}.
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final String CACHE_NAME = "userDetails";
+
+    private final int maxSize;
+    private final long ttlMs;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    // Advanced by every invalidation, so a load that overlapped one does not put back what it read before
+    private long generation;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public UserDetailsCache(@Value("${auth.user-cache.max-size:10000}") int maxSize,
+                            @Value("${auth.user-cache.ttl-ms:60000}") long ttlMs,
+                            MeterRegistry meterRegistry) {
+        this(maxSize, ttlMs, System::currentTimeMillis);
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum).tags("cache", CACHE_NAME, "result", "hit")
+                .description("User details served from the cache").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum).tags("cache", CACHE_NAME, "result", "miss")
+                .description("User details loaded from the database").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum).tags("cache", CACHE_NAME)
+                .description("User details dropped for size, age or a change of the user").register(meterRegistry);
+        Gauge.builder("cache.size", this, UserDetailsCache::size).tags("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    UserDetailsCache(int maxSize, long ttlMs, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserDetailsCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The cached details of the user, or those {@code loader} reads, which are then cached. A loader that
+     * throws caches nothing.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        String key = key(email);
+        long loadedGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > clock.getAsLong()) {
+                    hits.increment();
+                    return entry.details;
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+            loadedGeneration = generation;
+        }
+        misses.increment();
+        // Outside the lock, so one slow load does not hold up the other users
+        UserDetails details = loader.apply(email);
+        synchronized (this) {
+            if (generation == loadedGeneration) {
+                entries.put(key, new Entry(details, clock.getAsLong() + ttlMs));
+            }
+        }
+        return details;
+    }
+
+    public synchronized void invalidate(String email) {
+        generation++;
+        if (entries.remove(key(email)) != null) {
+            evictions.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        event.getEmails().forEach(this::invalidate);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    // Emails are unique regardless of case in MySQL
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(UserDetails details, long expiresAt) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.project.skin_me.service.activity;
+
+import com.project.skin_me.enums.ActivityType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appends {@link com.project.skin_me.model.Activity} rows without making the caller wait for the insert.
+ * Activities are queued, once the caller's transaction has committed, on a bounded lock-free queue that a
+ * single writer thread drains into JDBC batch inserts of up to {@code activity.log.batch-size} rows, at
+ * least every {@code activity.log.max-delay-ms}. When {@code activity.log.queue-capacity} activities are
+ * already waiting, new ones are dropped rather than slowing the request down. Whatever a batch runs into
+ * costs that batch at most, never the writer thread. The {@code activity.log.*} meters count what was
+ * appended, written and dropped, and the queue length.
+ */
+@Component
+public class ActivityLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private static final String INSERT =
+            "INSERT INTO activity (user_id, activity_type, timestamp, details) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    // Reserved before an entry is queued, so the queue never holds more than the capacity
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder droppedFull = new LongAdder();
+    private final LongAdder droppedFailed = new LongAdder();
+    private final LongAdder droppedError = new LongAdder();
+    private long reportedDrops;
+    private volatile boolean running = true;
+    private final Thread writer;
+
+    public ActivityLogWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${activity.log.queue-capacity:10000}") int capacity,
+                             @Value("${activity.log.batch-size:200}") int batchSize,
+                             @Value("${activity.log.max-delay-ms:1000}") long maxDelayMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        FunctionCounter.builder("activity.log.appended", appended, LongAdder::sum)
+                .description("Activities accepted for writing").register(meterRegistry);
+        FunctionCounter.builder("activity.log.written", written, LongAdder::sum)
+                .description("Activities inserted").register(meterRegistry);
+        FunctionCounter.builder("activity.log.dropped", droppedFull, LongAdder::sum).tag("reason", "queue-full")
+                .description("Activities dropped because the queue was full").register(meterRegistry);
+        FunctionCounter.builder("activity.log.dropped", droppedFailed, LongAdder::sum).tag("reason", "write-failed")
+                .description("Activities the database refused").register(meterRegistry);
+        FunctionCounter.builder("activity.log.dropped", droppedError, LongAdder::sum).tag("reason", "writer-error")
+                .description("Activities of batches the writer failed on unexpectedly").register(meterRegistry);
+        Gauge.builder("activity.log.queued", queued, AtomicInteger::get).register(meterRegistry);
+        this.writer = Thread.ofPlatform().name("activity-log-writer").daemon().start(this::run);
+    }
+
+    /**
+     * Appends an activity of the user, timestamped now. Inside a transaction it is queued once the
+     * transaction commits, and not at all if it rolls back.
+     */
+    public void append(Long userId, ActivityType activityType, String details) {
+        Entry entry = new Entry(userId, activityType, LocalDateTime.now(), details);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(entry);
+                }
+            });
+        } else {
+            offer(entry);
+        }
+    }
+
+    /**
+     * Writes what is still queued and stops the writer.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private boolean offer(Entry entry) {
+        int size;
+        do {
+            size = queued.get();
+            if (size >= capacity) {
+                droppedFull.increment();
+                return false;
+            }
+        } while (!queued.compareAndSet(size, size + 1));
+        queue.offer(entry);
+        appended.increment();
+        if (size + 1 == batchSize) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || queued.get() > 0) {
+            try {
+                Entry entry;
+                while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+                    batch.add(entry);
+                }
+                queued.addAndGet(-batch.size());
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+                reportDrops();
+            } catch (RuntimeException e) {
+                // Anything write() does not expect, a bug included, must not stop the writer for good
+                droppedError.add(batch.size());
+                logger.error("Activity log writer failed, up to {} activities lost: {}", batch.size(),
+                        e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+            // Once shutting down the rest is drained at once: the unpark may have been used up by a JDBC call
+            if (running && queued.get() < batchSize) {
+                LockSupport.parkNanos(this, maxDelayNanos);
+            }
+        }
+        reportDrops();
+    }
+
+    private void write(List<Entry> batch) {
+        try {
+            // All or nothing, so the retry below cannot insert a row twice
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (statement, entry) -> {
+                        statement.setLong(1, entry.userId());
+                        statement.setString(2, entry.activityType().name());
+                        statement.setTimestamp(3, Timestamp.valueOf(entry.timestamp()));
+                        statement.setString(4, entry.details());
+                    }));
+            written.add(batch.size());
+        } catch (DataAccessException | TransactionException e) {
+            // One bad row (a user deleted meanwhile) must not cost the others; find it row by row
+            logger.warn("Batch insert of {} activities failed, retrying one by one: {}", batch.size(),
+                    e.getMessage());
+            for (Entry entry : batch) {
+                try {
+                    jdbcTemplate.update(INSERT, entry.userId(), entry.activityType().name(),
+                            Timestamp.valueOf(entry.timestamp()), entry.details());
+                    written.increment();
+                } catch (DataAccessException rowFailure) {
+                    droppedFailed.increment();
+                    logger.error("Could not write {} activity of user {}: {}", entry.activityType(),
+                            entry.userId(), rowFailure.getMessage());
+                }
+            }
+        }
+    }
+
+    private void reportDrops() {
+        long drops = droppedFull.sum();
+        if (drops != reportedDrops) {
+            logger.warn("Activity queue full, dropped {} activities", drops - reportedDrops);
+            reportedDrops = drops;
+        }
+    }
+
+    private record Entry(Long userId, ActivityType activityType, LocalDateTime timestamp, String details) {
+    }
+}
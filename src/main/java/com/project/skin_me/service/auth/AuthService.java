@@ -6,10 +6,9 @@ import com.google.api.client.googleapis.auth.oauth2.GoogleTokenResponse;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.project.skin_me.enums.ActivityType;
-import com.project.skin_me.model.Activity;
+import com.project.skin_me.event.UserChangedEvent;
 import com.project.skin_me.model.Role;
 import com.project.skin_me.model.User;
-import com.project.skin_me.repository.ActivityRepository;
 import com.project.skin_me.repository.RoleRepository;
 import com.project.skin_me.repository.UserRepository;
 import com.project.skin_me.request.LoginRequest;
@@ -18,6 +17,8 @@ import com.project.skin_me.response.ApiResponse;
 import com.project.skin_me.response.JwtResponse;
 import com.project.skin_me.security.jwt.JwtUtils;
 import com.project.skin_me.security.user.ShopUserDetails;
+import com.project.skin_me.service.activity.ActivityLogWriter;
+import com.project.skin_me.service.presence.PresenceService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -25,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -55,7 +57,9 @@ public class AuthService implements IAuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
-    private final ActivityRepository activityRepository;
+    private final ActivityLogWriter activityLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PresenceService presenceService;
 
     @Value("${spring.security.oauth2.client.registration.google.client-id}")
     private String googleClientId;
@@ -294,6 +298,7 @@ public class AuthService implements IAuthService {
             User user = optionalUser.get();
             user.setPassword(passwordEncoder.encode(newPassword));
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(this, user.getId(), Set.of("password"), email));
             recordPasswordReset(user.getId(), email);
             logger.info("Password reset successful for email: {}", email);
             return ResponseEntity.ok(new ApiResponse("Password reset successful", null));
@@ -323,12 +328,7 @@ public class AuthService implements IAuthService {
         logger.debug("Setting isOnline to false for user: {}", user.getEmail());
         User savedUser = userRepository.save(user);
 
-        Activity activity = new Activity();
-        activity.setUser(savedUser);
-        activity.setActivityType(ActivityType.REGISTER);
-        activity.setTimestamp(LocalDateTime.now());
-        activity.setDetails("User registered with email: " + user.getEmail());
-        activityRepository.save(activity);
+        activityLog.append(savedUser.getId(), ActivityType.REGISTER, "User registered with email: " + user.getEmail());
 
         logger.info("User registered successfully: {}", user.getEmail());
         return savedUser;
@@ -356,13 +356,10 @@ public class AuthService implements IAuthService {
             logger.debug("After setting isOnline to true for user ID: {}", userId);
             userRepository.save(user);
             logger.debug("User saved with isOnline: {} for user ID: {}", user.isOnline(), userId);
+            presenceService.loggedIn(userId);
 
-            Activity activity = new Activity();
-            activity.setUser(user);
-            activity.setActivityType(ActivityType.LOGIN);
-            activity.setTimestamp(now);
-            activity.setDetails("User logged in from IP: " + (ipAddress != null ? ipAddress : "unknown"));
-            activityRepository.save(activity);
+            activityLog.append(user.getId(), ActivityType.LOGIN,
+                    "User logged in from IP: " + (ipAddress != null ? ipAddress : "unknown"));
 
             logger.info("Login recorded for user ID: {} from IP: {}", userId, ipAddress);
         } else {
@@ -383,13 +380,9 @@ public class AuthService implements IAuthService {
             logger.debug("After setting isOnline to false for user ID: {}", userId);
             userRepository.save(user);
             logger.debug("User saved with isOnline: {} for user ID: {}", user.isOnline(), userId);
+            presenceService.loggedOut(userId);
 
-            Activity activity = new Activity();
-            activity.setUser(user);
-            activity.setActivityType(ActivityType.LOGOUT);
-            activity.setTimestamp(LocalDateTime.now());
-            activity.setDetails("User logged out");
-            activityRepository.save(activity);
+            activityLog.append(user.getId(), ActivityType.LOGOUT, "User logged out");
 
             logger.info("Logout recorded for user ID: {}", userId);
         } else {
@@ -430,12 +423,7 @@ public class AuthService implements IAuthService {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
-            Activity activity = new Activity();
-            activity.setUser(user);
-            activity.setActivityType(ActivityType.PASSWORD_RESET);
-            activity.setTimestamp(LocalDateTime.now());
-            activity.setDetails("Password reset for email: " + email);
-            activityRepository.save(activity);
+            activityLog.append(user.getId(), ActivityType.PASSWORD_RESET, "Password reset for email: " + email);
 
             logger.info("Password reset recorded for user ID: {}", userId);
         } else {
@@ -3,8 +3,10 @@ package com.project.skin_me.service.category;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.project.skin_me.event.CategoryChangedEvent;
 import com.project.skin_me.model.Category;
 import com.project.skin_me.exception.AlreadyExistsException;
 import com.project.skin_me.exception.ResourceNotFoundException;
@@ -17,6 +19,7 @@ import lombok.RequiredArgsConstructor;
 public class CategoryService implements ICategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Category getCategoryById(Long id) {
@@ -56,14 +59,19 @@ public class CategoryService implements ICategoryService {
     public Category updateCategory(Category category, Long id) {
         return Optional.ofNullable(getCategoryById(id)).map(oldCategory -> {
             oldCategory.setName(category.getName());
-            return categoryRepository.save(oldCategory);
+            Category saved = categoryRepository.save(oldCategory);
+            eventPublisher.publishEvent(new CategoryChangedEvent(this, id));
+            return saved;
         }).orElseThrow(() -> new ResourceNotFoundException("Category not found!"));
     }
 
     @Override
     public Category deleteCategoryById(Long id) {
         categoryRepository.findById(id)
-                .ifPresentOrElse(categoryRepository::delete,
+                .ifPresentOrElse(category -> {
+                    categoryRepository.delete(category);
+                    eventPublisher.publishEvent(new CategoryChangedEvent(this, id));
+                },
                         () -> {
                             throw new ResourceNotFoundException("Category not found!");
                         });
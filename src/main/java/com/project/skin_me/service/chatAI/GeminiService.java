@@ -73,7 +73,8 @@ public class GeminiService {
         return systemInstruction + contextSection + userQuestion;
     }
 
-    private String formatProductsForGemini(List<Product> products) {
+    // Package-private for GeminiPromptBenchmark
+    String formatProductsForGemini(List<Product> products) {
         if (products.isEmpty()) {
             return "NOTE: No specific product data was retrieved from the database. Answer based purely on general skincare knowledge but state that you cannot provide product recommendations at this time.";
         }
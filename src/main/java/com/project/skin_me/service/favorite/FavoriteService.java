@@ -1,15 +1,21 @@
 package com.project.skin_me.service.favorite;
 
 import com.project.skin_me.dto.FavoriteProductDto;
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
 import com.project.skin_me.exception.AlreadyExistsException;
 import com.project.skin_me.exception.ResourceNotFoundException;
+import com.project.skin_me.mapper.ImageMapper;
 import com.project.skin_me.model.*;
 import com.project.skin_me.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,6 +26,8 @@ public class FavoriteService implements IFavoriteService {
     private final FavoriteItemRepository favoriteItemRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final ImageRepository imageRepository;
+    private final ImageMapper imageMapper;
 
     @Override
     @Transactional
@@ -60,9 +68,7 @@ public class FavoriteService implements IFavoriteService {
         FavoriteList favoriteList = favoriteListRepository.findByUser(user)
                 .orElseThrow(() -> new ResourceNotFoundException("Favorites not found for user"));
 
-        return favoriteList.getItems().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(favoriteList.getItems());
     }
 
     @Override
@@ -104,10 +110,32 @@ public class FavoriteService implements IFavoriteService {
     @Override
     public FavoriteProductDto convertToDto(Object obj) {
         FavoriteItem item = (FavoriteItem) obj;
-        Product product = item.getProduct();
-        String thumbnailUrl = (product.getImages() != null && !product.getImages().isEmpty())
-                ? product.getImages().getFirst().getDownloadUrl() : null;
+        String thumbnailUrl = imageRepository.findMetadataByProductId(item.getProduct().getId()).stream()
+                .findFirst()
+                .map(image -> ImageVariant.THUMB.urlFor(imageMapper.downloadUrl(image)))
+                .orElse(null);
+        return toDto(item, thumbnailUrl);
+    }
+
+    private List<FavoriteProductDto> convertToDtos(Collection<FavoriteItem> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
 
+        // One metadata query for all thumbnails instead of initializing every product's image collection
+        List<Long> productIds = items.stream().map(item -> item.getProduct().getId()).distinct().toList();
+        Map<Long, String> thumbnails = new HashMap<>();
+        for (ImageMetadataDto image : imageRepository.findMetadataByProductIdIn(productIds)) {
+            thumbnails.putIfAbsent(image.getProductId(), ImageVariant.THUMB.urlFor(imageMapper.downloadUrl(image)));
+        }
+
+        return items.stream()
+                .map(item -> toDto(item, thumbnails.get(item.getProduct().getId())))
+                .collect(Collectors.toList());
+    }
+
+    private FavoriteProductDto toDto(FavoriteItem item, String thumbnailUrl) {
+        Product product = item.getProduct();
         return FavoriteProductDto.builder()
                 .id(item.getId())
                 .userId(item.getFavoriteList().getUser().getId())
@@ -126,6 +154,6 @@ public class FavoriteService implements IFavoriteService {
         if (items.isEmpty()) {
             throw new ResourceNotFoundException("No favorites found in the system");
         }
-        return items.stream().map(this::convertToDto).collect(Collectors.toList());
+        return convertToDtos(items);
     }
 }
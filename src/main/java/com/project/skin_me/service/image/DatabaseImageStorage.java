@@ -0,0 +1,104 @@
+package com.project.skin_me.service.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
+import com.project.skin_me.exception.ResourceNotFoundException;
+import com.project.skin_me.model.ImageContent;
+import com.project.skin_me.model.ImageContentVariant;
+import com.project.skin_me.repository.ImageContentRepository;
+import com.project.skin_me.repository.ImageContentVariantRepository;
+import com.project.skin_me.repository.ImageRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps image bytes in the LONGBLOB {@code image} column, and resized variants in
+ * {@code image_content_variant} rows next to the content they belong to.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "database", matchIfMissing = true)
+public class DatabaseImageStorage implements ImageStorage {
+
+    private final ImageRepository imageRepository;
+    private final ImageContentRepository imageContentRepository;
+    private final ImageContentVariantRepository imageContentVariantRepository;
+
+    @Override
+    public StagedUpload stage(InputStream in) throws IOException {
+        return new StagedBytes(in.readAllBytes());
+    }
+
+    @Override
+    public void store(ImageContent content, StagedUpload upload) {
+        content.setImage(((StagedBytes) upload).bytes());
+        content.setStorageKey(null);
+    }
+
+    @Override
+    public Resource load(ImageMetadataDto image) {
+        // Rows uploaded before deduplication still carry their bytes in the image table
+        byte[] content = image.getContentId() != null
+                ? imageContentRepository.findBytesById(image.getContentId())
+                : imageRepository.findContentById(image.getImageId());
+        if (content == null) {
+            throw new ResourceNotFoundException("No content for image with ID " + image.getImageId());
+        }
+        return new ByteArrayResource(content);
+    }
+
+    @Override
+    public void delete(ImageMetadataDto image) {
+        // The bytes and their variants are removed together with the content row
+    }
+
+    @Override
+    public boolean supportsVariants(ImageMetadataDto image) {
+        // Rows uploaded before deduplication have no content row to hang variants on
+        return image.getContentId() != null;
+    }
+
+    @Override
+    public void storeVariant(ImageMetadataDto image, ImageVariant variant, InputStream content) throws IOException {
+        byte[] bytes = content.readAllBytes();
+        try {
+            imageContentVariantRepository.save(new ImageContentVariant(
+                    imageContentRepository.getReferenceById(image.getContentId()), variant, bytes));
+        } catch (DataIntegrityViolationException e) {
+            // Stored meanwhile for another upload of the same content, or the content is already gone
+        }
+    }
+
+    @Override
+    public Optional<Resource> loadVariant(ImageMetadataDto image, ImageVariant variant) {
+        if (image.getContentId() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(imageContentVariantRepository.findBytes(image.getContentId(), variant))
+                .map(ByteArrayResource::new);
+    }
+
+    @Override
+    public boolean hasVariant(ImageMetadataDto image, ImageVariant variant) {
+        // Without loading the bytes
+        return image.getContentId() != null && imageContentVariantRepository.exists(image.getContentId(), variant);
+    }
+
+    private record StagedBytes(byte[] bytes) implements StagedUpload {
+
+        @Override
+        public void close() {
+            // Nothing outside the heap to discard
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.project.skin_me.service.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
+import com.project.skin_me.exception.ResourceNotFoundException;
+import com.project.skin_me.model.ImageContent;
+import com.project.skin_me.repository.ImageContentRepository;
+import com.project.skin_me.repository.ImageContentVariantRepository;
+import com.project.skin_me.repository.ImageRepository;
+
+/**
+ * Keeps image bytes on local disk under {@code image.storage.dir}. Files are named after their SHA-256 and
+ * sharded into two levels of sub-directories so no single directory grows too large. Files are served as
+ * {@link FileSystemResource}s, which are streamed to the response without ever holding the whole image in memory. Resized variants are
+ * written next to the original as {@code <key>.<variant>}.
+ */
+@Component
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "filesystem")
+public class FileSystemImageStorage implements ImageStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemImageStorage.class);
+
+    private final Path rootDir;
+    private final DatabaseImageStorage legacyStorage;
+
+    public FileSystemImageStorage(@Value("${image.storage.dir}") String rootDir, ImageRepository imageRepository,
+            ImageContentRepository imageContentRepository, ImageContentVariantRepository imageContentVariantRepository) {
+        this.rootDir = Paths.get(rootDir).toAbsolutePath().normalize();
+        // Rows uploaded before the switch keep their bytes, and variants, in the database until they are migrated
+        this.legacyStorage = new DatabaseImageStorage(imageRepository, imageContentRepository,
+                imageContentVariantRepository);
+    }
+
+    @Override
+    public StagedUpload stage(InputStream in) throws IOException {
+        // Staged next to the shards, so storing is an atomic move within the same filesystem
+        Files.createDirectories(rootDir);
+        Path temp = Files.createTempFile(rootDir, "upload-", ".tmp");
+        StagedFile upload = new StagedFile(temp);
+        try {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            upload.close();
+            throw e;
+        }
+        return upload;
+    }
+
+    @Override
+    public void store(ImageContent content, StagedUpload upload) throws IOException {
+        String key = storageKeyFor(content.getContentHash());
+        Path target = resolve(key);
+        // Content-addressed: a file left behind by an earlier record already holds these bytes
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            Files.move(((StagedFile) upload).file(), target, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        content.setStorageKey(key);
+        content.setImage(null);
+    }
+
+    @Override
+    public Resource load(ImageMetadataDto image) {
+        if (image.getStorageKey() == null) {
+            return legacyStorage.load(image);
+        }
+        Path file = resolve(image.getStorageKey());
+        if (!Files.isReadable(file)) {
+            throw new ResourceNotFoundException("No content for image with ID " + image.getImageId());
+        }
+        return new FileSystemResource(file);
+    }
+
+    @Override
+    public void delete(ImageMetadataDto image) {
+        if (image.getStorageKey() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(resolve(image.getStorageKey()));
+            for (ImageVariant variant : ImageVariant.values()) {
+                Files.deleteIfExists(resolve(variantKey(image, variant)));
+            }
+        } catch (IOException e) {
+            // An orphaned file is harmless; the row is already gone
+            logger.warn("Failed to delete image file {}", image.getStorageKey(), e);
+        }
+    }
+
+    @Override
+    public boolean supportsVariants(ImageMetadataDto image) {
+        return image.getStorageKey() != null || legacyStorage.supportsVariants(image);
+    }
+
+    @Override
+    public void storeVariant(ImageMetadataDto image, ImageVariant variant, InputStream content) throws IOException {
+        if (image.getStorageKey() == null) {
+            legacyStorage.storeVariant(image, variant, content);
+            return;
+        }
+        write(resolve(variantKey(image, variant)), content);
+    }
+
+    @Override
+    public Optional<Resource> loadVariant(ImageMetadataDto image, ImageVariant variant) {
+        if (image.getStorageKey() == null) {
+            return legacyStorage.loadVariant(image, variant);
+        }
+        Path file = resolve(variantKey(image, variant));
+        return Files.isReadable(file) ? Optional.of(new FileSystemResource(file)) : Optional.empty();
+    }
+
+    private void write(Path target, InputStream content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "upload-", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private String variantKey(ImageMetadataDto image, ImageVariant variant) {
+        return image.getStorageKey() + "." + variant.getParameterValue();
+    }
+
+    private String storageKeyFor(String contentHash) {
+        if (contentHash == null || contentHash.length() < 4) {
+            throw new IllegalArgumentException("Content hash is required to store an image");
+        }
+        return contentHash.substring(0, 2) + "/" + contentHash.substring(2, 4) + "/" + contentHash;
+    }
+
+    private Path resolve(String key) {
+        Path path = rootDir.resolve(key).normalize();
+        if (!path.startsWith(rootDir)) {
+            throw new IllegalArgumentException("Storage key escapes the image directory: " + key);
+        }
+        return path;
+    }
+
+    private record StagedFile(Path file) implements StagedUpload {
+
+        @Override
+        public void close() {
+            try {
+                // Already gone once it has been moved into place
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Failed to delete staged upload {}", file, e);
+            }
+        }
+    }
+}
@@ -1,18 +1,33 @@
 package com.project.skin_me.service.image;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.project.skin_me.dto.ImageDto;
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
 import com.project.skin_me.model.Image;
 
 public interface IImageService {
     Image getImageById(Long id);
 
+    ImageMetadataDto getImageMetadata(Long id);
+
+    Resource getImageContent(ImageMetadataDto image);
+
+    Optional<Resource> getImageVariant(ImageMetadataDto image, ImageVariant variant);
+
     void deleteImageById(Long id);
 
     List<ImageDto> saveImages(Long productId, List<MultipartFile> files);
 
     void updateImage(MultipartFile file, Long imageId);
+
+    /**
+     * Whether the {@code v} parameter of a download URL still names the image's current content.
+     */
+    boolean isCurrentVersion(ImageMetadataDto image, String version);
 }
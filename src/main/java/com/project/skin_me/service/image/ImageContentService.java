@@ -0,0 +1,215 @@
+package com.project.skin_me.service.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.util.HexFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.model.Image;
+import com.project.skin_me.model.ImageContent;
+import com.project.skin_me.repository.ImageContentRepository;
+
+/**
+ * Deduplicates image bytes by SHA-256. Uploading content that is already stored only bumps the reference
+ * count of the existing {@link ImageContent}; the bytes are written once and removed with the last reference.
+ * Stored files are only deleted, after commit, while no content record has their hash, so an upload of the
+ * same content racing a release never ends up pointing at a deleted file.
+ */
+@Service
+public class ImageContentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageContentService.class);
+
+    private static final String INSERT =
+            "INSERT INTO image_content (content_hash, size, reference_count) VALUES (?, ?, 1)";
+    // A current read, past this transaction's snapshot, that also keeps the record until it ends
+    private static final String LOCK_BY_HASH = "SELECT id FROM image_content WHERE content_hash = ? FOR UPDATE";
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    private final ImageContentRepository imageContentRepository;
+    private final ImageStorage imageStorage;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    public ImageContentService(ImageContentRepository imageContentRepository, ImageStorage imageStorage,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.imageContentRepository = imageContentRepository;
+        this.imageStorage = imageStorage;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Points the image at the content read from {@code source}, storing the bytes only if no other image
+     * already has them. Bytes stored here are removed again if the transaction rolls back.
+     */
+    @Transactional
+    public void acquire(Image image, InputStreamSource source, long size) throws IOException {
+        MessageDigest digest = newContentDigest();
+        try (StagedUpload upload = stage(source, digest)) {
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+
+            Claim claim = claim(contentHash, size);
+            String storageKey;
+            if (claim.inserted()) {
+                // The record exists first, so a release of the same hash now waits for this transaction to
+                // end before it checks whether the file can go
+                ImageContent content = new ImageContent(contentHash, size);
+                imageStorage.store(content, upload);
+                imageContentRepository.updateStoredContent(claim.contentId(), content.getStorageKey(),
+                        content.getImage());
+                storageKey = content.getStorageKey();
+                discardOnRollback(contentHash, storageKey);
+            } else {
+                storageKey = imageContentRepository.findStorageKeyById(claim.contentId());
+            }
+
+            image.setContent(imageContentRepository.getReferenceById(claim.contentId()));
+            image.setStorageKey(storageKey);
+            image.setContentHash(contentHash);
+        }
+    }
+
+    /**
+     * Drops one reference to the content; the last reference deletes the record and, once the transaction
+     * commits, the stored bytes.
+     */
+    @Transactional
+    public void release(ImageMetadataDto image) {
+        if (image.getContentId() == null) {
+            // Pre-deduplication rows own their bytes outright
+            deleteAfterCommit(image);
+            return;
+        }
+        imageContentRepository.decrementReferenceCount(image.getContentId());
+        if (imageContentRepository.deleteIfUnreferenced(image.getContentId()) == 1) {
+            afterCompletion(TransactionSynchronization.STATUS_COMMITTED,
+                    () -> deleteIfUnreferenced(image.getContentHash(), image));
+        }
+    }
+
+    /**
+     * Adds a reference to the record with the hash, or inserts it with one.
+     */
+    private Claim claim(String contentHash, long size) {
+        Long contentId = imageContentRepository.findIdByContentHash(contentHash).orElse(null);
+        for (int attempt = 1; ; attempt++) {
+            // Zero rows means the record was released meanwhile; insert it again
+            if (contentId != null && imageContentRepository.incrementReferenceCount(contentId) == 1) {
+                return new Claim(contentId, false);
+            }
+            try {
+                return new Claim(insert(contentHash, size), true);
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_CLAIM_ATTEMPTS) {
+                    throw e;
+                }
+                // Inserted by a concurrent upload that has committed since
+                contentId = jdbcTemplate.queryForList(LOCK_BY_HASH, Long.class, contentHash).stream()
+                        .findFirst().orElse(null);
+            }
+        }
+    }
+
+    // Plain JDBC, so a duplicate hash fails this statement without marking the transaction for rollback
+    private long insert(String contentHash, long size) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"});
+            statement.setString(1, contentHash);
+            statement.setLong(2, size);
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private void discardOnRollback(String contentHash, String storageKey) {
+        if (storageKey == null) {
+            // Bytes kept in the record roll back with it
+            return;
+        }
+        ImageMetadataDto stored = new ImageMetadataDto();
+        stored.setContentHash(contentHash);
+        stored.setStorageKey(storageKey);
+        afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK,
+                () -> deleteIfUnreferenced(contentHash, stored));
+    }
+
+    /**
+     * Deletes the stored bytes unless a content record has the hash again. The check locks the hash, so an
+     * upload of the same content inserting its record meanwhile waits for the deletion and then stores the
+     * bytes anew.
+     */
+    private void deleteIfUnreferenced(String contentHash, ImageMetadataDto image) {
+        if (image.getStorageKey() == null) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (jdbcTemplate.queryForList(LOCK_BY_HASH, Long.class, contentHash).isEmpty()) {
+                    imageStorage.delete(image);
+                }
+            });
+        } catch (RuntimeException e) {
+            // An orphaned file is harmless; the record is already gone
+            logger.warn("Failed to delete unreferenced image content {}", image.getStorageKey(), e);
+        }
+    }
+
+    private void deleteAfterCommit(ImageMetadataDto image) {
+        afterCompletion(TransactionSynchronization.STATUS_COMMITTED, () -> imageStorage.delete(image));
+    }
+
+    private static void afterCompletion(int outcome, Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == outcome) {
+                        action.run();
+                    }
+                }
+            });
+        } else if (outcome == TransactionSynchronization.STATUS_COMMITTED) {
+            action.run();
+        }
+    }
+
+    // Hashed on the way into the storage, so the upload is read only once
+    private StagedUpload stage(InputStreamSource source, MessageDigest digest) throws IOException {
+        try (InputStream in = new DigestInputStream(source.getInputStream(), digest)) {
+            return imageStorage.stage(in);
+        }
+    }
+
+    private static MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Claim(long contentId, boolean inserted) {
+    }
+}
@@ -1,16 +1,23 @@
 package com.project.skin_me.service.image;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import lombok.RequiredArgsConstructor;
 
 import com.project.skin_me.dto.ImageDto;
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
 import com.project.skin_me.exception.ResourceNotFoundException;
+import com.project.skin_me.mapper.ImageMapper;
 import com.project.skin_me.model.Image;
 import com.project.skin_me.model.Product;
 import com.project.skin_me.repository.ImageRepository;
@@ -22,6 +29,10 @@ public class ImageService implements IImageService {
 
     private final ImageRepository imageRepository;
     private final IProductService productService;
+    private final ImageStorage imageStorage;
+    private final ImageContentService imageContentService;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final ImageMapper imageMapper;
 
     @Override
     public Image getImageById(Long id) {
@@ -30,58 +41,103 @@ public class ImageService implements IImageService {
     }
 
     @Override
+    public ImageMetadataDto getImageMetadata(Long id) {
+        return imageRepository.findMetadataById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No image with this id" + id));
+    }
+
+    @Override
+    public Resource getImageContent(ImageMetadataDto image) {
+        return imageStorage.load(image);
+    }
+
+    @Override
+    @Transactional
     public void deleteImageById(Long id) {
-        imageRepository.findById(id).ifPresentOrElse(imageRepository::delete, () -> {
+        imageRepository.findMetadataById(id).ifPresentOrElse(image -> {
+            imageRepository.deleteById(id);
+            // The row must be gone before the content it references can be deleted
+            imageRepository.flush();
+            imageContentService.release(image);
+        }, () -> {
             throw new ResourceNotFoundException("No image with this ID" + id);
         });
     }
 
     @Override
+    @Transactional
     public List<ImageDto> saveImages(Long productId, List<MultipartFile> files) {
         Product product = productService.getProductById(productId);
 
-        List<ImageDto> saveImageDto = new ArrayList<>();
-        for (MultipartFile file : files) {
-            try {
+        // Content is stored file by file, once per distinct hash; the rows are then inserted together
+        List<Image> images = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
                 Image image = new Image();
                 image.setFileName(file.getOriginalFilename());
                 image.setFileType(file.getContentType());
-                image.setImage(file.getBytes());
+                image.setSize(file.getSize());
                 image.setProduct(product);
-
-                String buildDownloadUrl = "/api/v1/images/image/download/";
-                String downloadUrl = buildDownloadUrl + image.getId();
-                image.setDownloadUrl(downloadUrl);
-                Image saveImage = imageRepository.save(image);
-
-                saveImage.setDownloadUrl(buildDownloadUrl + saveImage.getId());
-                imageRepository.save(saveImage);
-
-                ImageDto imageDto = new ImageDto();
-                imageDto.setImageId(saveImage.getId());
-                imageDto.setFileName(saveImage.getFileName());
-                imageDto.setDownloadUrl(saveImage.getDownloadUrl());
-                saveImageDto.add(imageDto);
-
-            } catch (IOException e) {
-                throw new RuntimeException(e.getMessage());
+                imageContentService.acquire(image, file, file.getSize());
+                image.setUploadedAt(LocalDateTime.now());
+                images.add(image);
             }
+            imageRepository.saveAll(images);
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+
+        List<ImageDto> saveImageDto = new ArrayList<>(images.size());
+        for (Image saveImage : images) {
+            imageVariantGenerator.submit(toMetadata(saveImage));
+            saveImageDto.add(imageMapper.toDto(saveImage));
         }
         return saveImageDto;
     }
 
     @Override
+    @Transactional
     public void updateImage(MultipartFile file, Long imageId) {
 
-        Image image = getImageById(imageId);
+        // Metadata only: the row is updated in place, so bytes it may still hold itself are never loaded
+        ImageMetadataDto previous = getImageMetadata(imageId);
+        Image image = new Image();
+        image.setId(imageId);
+        image.setFileName(file.getOriginalFilename());
+        image.setFileType(file.getContentType());
+        image.setSize(file.getSize());
         try {
-            image.setFileName(file.getOriginalFilename());
-            image.setFileType(file.getContentType());
-            image.setImage(file.getBytes());
-            imageRepository.save(image);
+            // The new content hash also gives the download URL a new version
+            imageContentService.acquire(image, file, file.getSize());
         } catch (IOException e) {
             throw new RuntimeException(e.getMessage());
         }
+        image.setUploadedAt(LocalDateTime.now());
+        imageRepository.updateContent(imageId, image.getFileName(), image.getFileType(), image.getSize(),
+                image.getContent(), image.getStorageKey(), image.getContentHash(), image.getUploadedAt());
+        imageContentService.release(previous);
+
+        ImageMetadataDto updated = toMetadata(image);
+        updated.setProductId(previous.getProductId());
+        imageVariantGenerator.submit(updated);
+    }
+
+    @Override
+    public Optional<Resource> getImageVariant(ImageMetadataDto image, ImageVariant variant) {
+        return imageStorage.loadVariant(image, variant);
+    }
+
+    @Override
+    public boolean isCurrentVersion(ImageMetadataDto image, String version) {
+        return version != null && version.length() == Image.URL_VERSION_LENGTH
+                && image.getContentHash() != null && image.getContentHash().startsWith(version);
+    }
+
+    private ImageMetadataDto toMetadata(Image image) {
+        return new ImageMetadataDto(image.getId(), image.getProduct() != null ? image.getProduct().getId() : null,
+                image.getFileName(), image.getFileType(), image.getSize(),
+                image.getStorageKey(), image.getContentHash(), image.getUploadedAt(),
+                image.getContent() != null ? image.getContent().getId() : null);
     }
 
 }
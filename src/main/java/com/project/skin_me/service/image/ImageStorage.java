@@ -0,0 +1,55 @@
+package com.project.skin_me.service.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import org.springframework.core.io.Resource;
+
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
+import com.project.skin_me.model.ImageContent;
+
+/**
+ * Where the bytes of an uploaded image live. The active backend is chosen with {@code image.storage.type}
+ * ({@code database} or {@code filesystem}).
+ */
+public interface ImageStorage {
+
+    /**
+     * Reads an upload, in one pass, into a place of the storage's own until it is known whether the content
+     * is new.
+     */
+    StagedUpload stage(InputStream in) throws IOException;
+
+    /**
+     * Keeps the staged bytes as those of a new content record, filling its {@code image} or
+     * {@code storageKey} column. The record's content hash must already be set. Called once the record is
+     * inserted, so bytes kept outside the database always have a record that keeps them from being deleted.
+     */
+    void store(ImageContent content, StagedUpload upload) throws IOException;
+
+    Resource load(ImageMetadataDto image);
+
+    /**
+     * Removes the content of the image together with all of its variants. Only called once no image
+     * references the content any more.
+     */
+    void delete(ImageMetadataDto image);
+
+    /**
+     * Whether resized variants can be kept for the image; when not, downloads of a variant serve the original.
+     */
+    boolean supportsVariants(ImageMetadataDto image);
+
+    void storeVariant(ImageMetadataDto image, ImageVariant variant, InputStream content) throws IOException;
+
+    /**
+     * Returns the variant, or empty when it has not been generated (yet).
+     */
+    Optional<Resource> loadVariant(ImageMetadataDto image, ImageVariant variant);
+
+    default boolean hasVariant(ImageMetadataDto image, ImageVariant variant) {
+        return loadVariant(image, variant).isPresent();
+    }
+}
@@ -0,0 +1,170 @@
+package com.project.skin_me.service.image;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Produces the {@link ImageVariant} renditions of uploaded images on a small bounded worker pool, using only
+ * the JDK's ImageIO. Uploads never wait for resizing: when the queue is full the job is dropped and downloads
+ * of the missing variant fall back to the original.
+ */
+@Component
+public class ImageVariantGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantGenerator.class);
+
+    private final ImageStorage imageStorage;
+    private final ThreadPoolExecutor executor;
+
+    public ImageVariantGenerator(ImageStorage imageStorage,
+            @Value("${image.variants.threads:2}") int threads,
+            @Value("${image.variants.queue-capacity:200}") int queueCapacity) {
+        this.imageStorage = imageStorage;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ImageIO.setUseCache(false);
+    }
+
+    /**
+     * Queues the variants of the image for generation. Inside a transaction they are queued once the
+     * transaction commits, so the worker reads committed content, and not at all if it rolls back.
+     */
+    public void submit(ImageMetadataDto image) {
+        if (!imageStorage.supportsVariants(image) || formatFor(image.getFileType()) == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    execute(image);
+                }
+            });
+        } else {
+            execute(image);
+        }
+    }
+
+    private void execute(ImageMetadataDto image) {
+        try {
+            executor.execute(() -> generate(image));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Variant queue full, skipping variants for image {}", image.getImageId());
+        }
+    }
+
+    void generate(ImageMetadataDto image) {
+        // Variants live next to the shared content, so a re-upload of known bytes has them already
+        if (Arrays.stream(ImageVariant.values()).allMatch(v -> imageStorage.hasVariant(image, v))) {
+            return;
+        }
+        try (InputStream content = imageStorage.load(image).getInputStream()) {
+            BufferedImage original = ImageIO.read(content);
+            if (original == null) {
+                logger.warn("Image {} is not in a format ImageIO can read", image.getImageId());
+                return;
+            }
+            String format = formatFor(image.getFileType());
+            for (ImageVariant variant : ImageVariant.values()) {
+                BufferedImage resized = resize(original, variant.getMaxDimension(), "jpeg".equals(format));
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ImageIO.write(resized, format, out);
+                imageStorage.storeVariant(image, variant, new ByteArrayInputStream(out.toByteArray()));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to generate variants for image {}", image.getImageId(), e);
+        }
+    }
+
+    /**
+     * Variants are written as PNG when the original may have transparency and as JPEG otherwise;
+     * {@code null} means the type is not an image we can resize.
+     */
+    public static String formatFor(String fileType) {
+        if (fileType == null || !fileType.startsWith("image/")) {
+            return null;
+        }
+        return switch (fileType) {
+            case "image/png", "image/gif" -> "png";
+            case "image/jpeg", "image/jpg", "image/bmp" -> "jpeg";
+            default -> null;
+        };
+    }
+
+    public static String contentTypeFor(String fileType) {
+        String format = formatFor(fileType);
+        return format == null ? fileType : "image/" + format;
+    }
+
+    static BufferedImage resize(BufferedImage source, int maxDimension, boolean opaque) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        // Halve in steps while far from the target; a single bilinear pass from a large image aliases badly
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            if (currentWidth < targetWidth * 2 && currentHeight < targetHeight * 2) {
+                currentWidth = targetWidth;
+                currentHeight = targetHeight;
+            }
+            current = draw(current, currentWidth, currentHeight, type);
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, int type) {
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
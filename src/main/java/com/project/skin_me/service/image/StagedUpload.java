@@ -0,0 +1,11 @@
+package com.project.skin_me.service.image;
+
+/**
+ * An upload read into an {@link ImageStorage} before its content hash is known. The bytes only become content
+ * when they are passed to {@link ImageStorage#store}; closing the upload discards them otherwise.
+ */
+public interface StagedUpload extends AutoCloseable {
+
+    @Override
+    void close();
+}
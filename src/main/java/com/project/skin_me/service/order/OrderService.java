@@ -2,7 +2,9 @@ package com.project.skin_me.service.order;
 
 import com.project.skin_me.dto.OrderDto;
 import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.event.ProductUpdatedEvent;
 import com.project.skin_me.exception.ResourceNotFoundException;
+import com.project.skin_me.mapper.OrderMapper;
 import com.project.skin_me.model.*;
 import com.project.skin_me.repository.OrderRepository;
 import com.project.skin_me.repository.PaymentRepository;
@@ -10,7 +12,7 @@ import com.project.skin_me.repository.ProductRepository;
 import com.project.skin_me.service.cart.ICartService;
 import com.project.skin_me.service.popularProduct.IPopularProductService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +22,7 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -29,9 +32,10 @@ public class OrderService implements IOrderService {
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final PaymentRepository paymentRepository;
-    private final ModelMapper modelMapper;
+    private final OrderMapper orderMapper;
     private final ICartService cartService;
     private final IPopularProductService popularProductService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -99,7 +103,7 @@ public class OrderService implements IOrderService {
 
     @Override
     public OrderDto convertToDto(Order order) {
-        return modelMapper.map(order, OrderDto.class);
+        return orderMapper.toDto(order);
     }
 
 //    public void updatePopularProducts(List<OrderItem> items) {
@@ -144,6 +148,10 @@ public class OrderService implements IOrderService {
             }
             product.setInventory(product.getInventory() - item.getQuantity());
             productRepository.save(product);
+            if (item.getQuantity() != 0) {
+                // Keeps the catalog snapshot's stock, and the in-stock filter, in step with the sale
+                eventPublisher.publishEvent(new ProductUpdatedEvent(this, product.getId(), Set.of("inventory")));
+            }
         }
         // Update popular products
         popularProductService.saveFromOrder(order);
@@ -1,6 +1,8 @@
 package com.project.skin_me.service.popularProduct;
 
 import com.project.skin_me.dto.PopularProductDto;
+import com.project.skin_me.event.ProductUpdatedEvent;
+import com.project.skin_me.mapper.PopularProductMapper;
 import com.project.skin_me.model.Order;
 import com.project.skin_me.model.OrderItem;
 import com.project.skin_me.model.PopularProduct;
@@ -9,13 +11,14 @@ import com.project.skin_me.repository.OrderRepository;
 import com.project.skin_me.repository.PopularProductRepository;
 import com.project.skin_me.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
@@ -24,7 +27,8 @@ public class PopularProductService implements IPopularProductService {
     private final PopularProductRepository popularProductRepository;
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
-    private final ModelMapper modelMapper;
+    private final PopularProductMapper popularProductMapper;
+    private final ApplicationEventPublisher eventPublisher;
     private static final int POPULARITY_THRESHOLD = 10;
 
     @Override
@@ -51,6 +55,9 @@ public class PopularProductService implements IPopularProductService {
                 popular.setLastPurchasedDate(LocalDateTime.now());
                 popularProductRepository.save(popular);
             }
+            // Keeps the catalog snapshot and the suggestion ranking in step with the new order count
+            eventPublisher.publishEvent(new ProductUpdatedEvent(this, product.getId(),
+                    Set.of("totalOrders", "popularProduct")));
         }
     }
 
@@ -112,12 +119,7 @@ public class PopularProductService implements IPopularProductService {
     }
 
     public PopularProductDto convertToDto(PopularProduct popularProduct) {
-        PopularProductDto dto = modelMapper.map(popularProduct, PopularProductDto.class);
-        Product product = popularProduct.getProduct();
-        dto.setName(product.getName());
-        dto.setPrice(product.getPrice());
-        dto.setBrand(product.getBrand());
-        return dto;
+        return popularProductMapper.toDto(popularProduct);
     }
 
 
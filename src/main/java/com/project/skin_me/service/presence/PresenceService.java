@@ -0,0 +1,286 @@
+package com.project.skin_me.service.presence;
+
+import com.project.skin_me.dto.PresenceEventDto;
+import com.project.skin_me.event.UserChangedEvent;
+import com.project.skin_me.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Who is online, kept in memory: a user joins with their first authenticated request or login and leaves
+ * on logout or after {@code presence.idle-timeout-ms} without a request. Idle users are found by a timing
+ * wheel advanced every {@code presence.tick-ms}, so a departure is seen within a tick of the timeout and
+ * requests from users already online only write a timestamp. Joins and departures are written to
+ * {@code User.isOnline} in batches on the next tick and published on {@link #TOPIC}; nothing is written
+ * while a user stays online. Presence is per instance: it assumes a single application node.
+ */
+@Service
+public class PresenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceService.class);
+
+    // Administrators only; see WebSocketConfig
+    public static final String TOPIC = "/topic/presence";
+    // With one second ticks the levels span a minute, an hour and three days
+    private static final int WHEEL_LEVELS = 3;
+    private static final int MAX_IDS_PER_UPDATE = 500;
+
+    private final UserRepository userRepository;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long idleTimeoutMs;
+    private final LongSupplier clock;
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final Queue<Transition> transitions = new ConcurrentLinkedQueue<>();
+    // Guarded by itself; only joins and ticks take it
+    private final TimingWheel<Session> wheel;
+
+    @Autowired
+    public PresenceService(UserRepository userRepository, SimpMessageSendingOperations messagingTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${presence.idle-timeout-ms:900000}") long idleTimeoutMs,
+                           @Value("${presence.tick-ms:1000}") long tickMs) {
+        this(userRepository, messagingTemplate, transactionManager, idleTimeoutMs, tickMs,
+                System::currentTimeMillis);
+    }
+
+    PresenceService(UserRepository userRepository, SimpMessageSendingOperations messagingTemplate,
+                    PlatformTransactionManager transactionManager, long idleTimeoutMs, long tickMs,
+                    LongSupplier clock) {
+        this.userRepository = userRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(tickMs, WHEEL_LEVELS, clock.getAsLong());
+    }
+
+    /**
+     * Records an authenticated request of the user, who joins if not online yet.
+     */
+    public void touch(Long userId) {
+        long now = clock.getAsLong();
+        Session session = sessions.get(userId);
+        if (session != null) {
+            session.lastSeen = now;
+            // Pairs with expire(): either it sees this request, or this sees the session has ended
+            if (!session.ended) {
+                return;
+            }
+        }
+        join(userId, now, true);
+    }
+
+    /**
+     * The user has logged in; the login itself stores them as online.
+     */
+    public void loggedIn(Long userId) {
+        join(userId, clock.getAsLong(), false);
+    }
+
+    /**
+     * The user has logged out; the logout itself stores them as offline.
+     */
+    public void loggedOut(Long userId) {
+        Session session = sessions.remove(userId);
+        if (session != null) {
+            session.ended = true;
+            transitions.add(new Transition(userId, false, false, clock.getAsLong()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getChangedFields().equals(UserChangedEvent.DELETED)) {
+            // Nothing left to store; the departure is only published
+            loggedOut(event.getUserId());
+        }
+    }
+
+    public boolean isOnline(Long userId) {
+        return sessions.containsKey(userId);
+    }
+
+    public int onlineCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Ends the sessions that have been idle for the timeout, then stores and publishes what changed since the
+     * last tick.
+     */
+    @Scheduled(fixedRateString = "${presence.tick-ms:1000}")
+    public void tick() {
+        long now = clock.getAsLong();
+        List<Session> due;
+        synchronized (wheel) {
+            due = wheel.advance(now);
+        }
+        for (Session session : due) {
+            expire(session, now);
+        }
+        publishTransitions();
+    }
+
+    /**
+     * Takes over the users stored as online when the application starts: those idle for longer than the
+     * timeout are stored as offline, in one statement, and the others are online until their timeout.
+     *
+     * @return the number of users stored as offline
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int restore() {
+        long now = clock.getAsLong();
+        LocalDateTime threshold = toLocalDateTime(now - idleTimeoutMs);
+        Integer markedOffline = transactionTemplate.execute(status ->
+                userRepository.markOnlineUsersOfflineInactiveSince(threshold));
+        List<UserRepository.ActivityView> online = userRepository.findOnlineUserActivity();
+        synchronized (wheel) {
+            for (UserRepository.ActivityView user : online) {
+                // A user who joined meanwhile may have no activity stored yet
+                long lastSeen = user.getLastActivity() == null ? now : Math.min(toEpochMs(user.getLastActivity()), now);
+                Session session = new Session(user.getId(), lastSeen);
+                if (sessions.putIfAbsent(user.getId(), session) == null) {
+                    wheel.schedule(session, session.lastSeen + idleTimeoutMs);
+                }
+            }
+        }
+        logger.info("Restored presence of {} online users; marked {} inactive users as offline", online.size(),
+                markedOffline);
+        return markedOffline == null ? 0 : markedOffline;
+    }
+
+    private void join(Long userId, long now, boolean persist) {
+        Session[] joined = new Session[1];
+        sessions.compute(userId, (id, current) -> {
+            if (current != null && !current.ended) {
+                current.lastSeen = now;
+                return current;
+            }
+            joined[0] = new Session(userId, now);
+            return joined[0];
+        });
+        if (joined[0] != null) {
+            synchronized (wheel) {
+                wheel.schedule(joined[0], now + idleTimeoutMs);
+            }
+            transitions.add(new Transition(userId, true, persist, now));
+        }
+    }
+
+    private void expire(Session session, long now) {
+        boolean[] expired = new boolean[1];
+        sessions.computeIfPresent(session.userId, (id, current) -> {
+            if (current != session) {
+                // Logged out and back in since; the new session has a wheel entry of its own
+                return current;
+            }
+            session.ended = true;
+            if (session.lastSeen + idleTimeoutMs > now) {
+                session.ended = false;
+                return current;
+            }
+            expired[0] = true;
+            return null;
+        });
+        if (expired[0]) {
+            transitions.add(new Transition(session.userId, false, true, now));
+        } else if (sessions.get(session.userId) == session) {
+            // Seen since it was scheduled: due again one timeout after the latest request
+            synchronized (wheel) {
+                wheel.schedule(session, session.lastSeen + idleTimeoutMs);
+            }
+        }
+    }
+
+    private void publishTransitions() {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        List<Transition> batch = new ArrayList<>();
+        for (Transition transition = transitions.poll(); transition != null; transition = transitions.poll()) {
+            batch.add(transition);
+        }
+        // Only the latest change of each user in the batch is stored
+        Map<Long, Transition> latest = new LinkedHashMap<>();
+        batch.forEach(transition -> latest.put(transition.userId(), transition));
+        List<Long> joined = new ArrayList<>();
+        List<Long> left = new ArrayList<>();
+        latest.values().stream().filter(Transition::persist)
+                .forEach(transition -> (transition.online() ? joined : left).add(transition.userId()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                inChunks(joined, userRepository::markOnline);
+                inChunks(left, userRepository::markOffline);
+            });
+        } catch (RuntimeException e) {
+            // The next change of these users, or the next restart, stores their state again
+            logger.error("Error storing presence of {} users: {}", joined.size() + left.size(), e.getMessage(), e);
+        }
+        for (Transition transition : batch) {
+            messagingTemplate.convertAndSend(TOPIC, PresenceEventDto.builder()
+                    .userId(transition.userId())
+                    .status(transition.online() ? "JOINED" : "LEFT")
+                    .timestamp(toLocalDateTime(transition.at()))
+                    .build());
+        }
+        logger.debug("Published {} presence changes; stored {} joins and {} departures", batch.size(),
+                joined.size(), left.size());
+    }
+
+    private static void inChunks(List<Long> ids, Consumer<List<Long>> update) {
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_UPDATE) {
+            update.accept(ids.subList(from, Math.min(from + MAX_IDS_PER_UPDATE, ids.size())));
+        }
+    }
+
+    // User times are stored as local date-times, like everywhere else
+    private static LocalDateTime toLocalDateTime(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMs(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Session {
+
+        private final Long userId;
+        private volatile long lastSeen;
+        // Set while the tick decides whether the session has expired, and for good once it has
+        private volatile boolean ended;
+
+        private Session(Long userId, long lastSeen) {
+            this.userId = userId;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    private record Transition(Long userId, boolean online, boolean persist, long at) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.project.skin_me.service.presence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: keys scheduled for a deadline come back from {@link #advance} once their tick
+ * has passed. Each level has 64 slots, a slot of level {@code n} spanning {@code 64^n} ticks, so scheduling
+ * and expiring are constant time however many keys are waiting. Keys further out than the top level can
+ * reach wait in its farthest slot and are placed again when it comes round. Not thread safe.
+ */
+final class TimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickMs;
+    private final List<Entry<K>>[][] levels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMs, int levelCount, long startMs) {
+        this.tickMs = tickMs;
+        this.levels = new List[levelCount][SLOTS];
+        for (List<Entry<K>>[] slots : levels) {
+            for (int i = 0; i < SLOTS; i++) {
+                slots[i] = new ArrayList<>();
+            }
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Schedules {@code key} for {@code deadlineMs}; a deadline already passed comes back on the next tick.
+     */
+    void schedule(K key, long deadlineMs) {
+        place(new Entry<>(key, Math.max(ceilDiv(deadlineMs, tickMs), currentTick + 1)));
+        size++;
+    }
+
+    /**
+     * Moves the wheel on to {@code nowMs} and returns the keys whose deadline has been reached, in deadline
+     * order.
+     */
+    List<K> advance(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        List<K> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher levels first, so their entries can still land in this tick's slot
+            for (int level = levels.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (level * SLOT_BITS)) - 1)) == 0) {
+                    List<Entry<K>> slot = levels[level][slotIndex(currentTick, level)];
+                    if (!slot.isEmpty()) {
+                        List<Entry<K>> cascaded = new ArrayList<>(slot);
+                        slot.clear();
+                        cascaded.forEach(this::place);
+                    }
+                }
+            }
+            List<Entry<K>> slot = levels[0][slotIndex(currentTick, 0)];
+            for (Entry<K> entry : slot) {
+                due.add(entry.key);
+            }
+            size -= slot.size();
+            slot.clear();
+        }
+        return due;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(Entry<K> entry) {
+        int top = levels.length - 1;
+        for (int level = 0; level < top; level++) {
+            if ((entry.deadlineTick >> (level * SLOT_BITS)) - (currentTick >> (level * SLOT_BITS)) < SLOTS) {
+                levels[level][slotIndex(entry.deadlineTick, level)].add(entry);
+                return;
+            }
+        }
+        int shift = top * SLOT_BITS;
+        long farthest = (currentTick >> shift) + SLOTS - 1;
+        long tick = Math.min(entry.deadlineTick >> shift, farthest) << shift;
+        levels[top][slotIndex(tick, top)].add(entry);
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >> (level * SLOT_BITS)) & SLOT_MASK);
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private record Entry<K>(K key, long deadlineTick) {
+    }
+}
@@ -0,0 +1,320 @@
+package com.project.skin_me.service.product;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.project.skin_me.enums.ProductSort;
+import com.project.skin_me.enums.ProductStatus;
+import com.project.skin_me.model.Product;
+
+/**
+ * Immutable view of the whole catalog at one version, with the lookups the listing endpoints need held as
+ * ready-made lists. String keys are matched case-insensitively, as the MySQL collation does. The products
+ * are detached entities shared by every reader and must be treated as read-only.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<Product> BY_ID = Comparator.comparing(Product::getId,
+            Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final int MAX_SORTED_VIEWS = 256;
+
+    private static final Function<Product, String> BRAND = product -> key(product.getBrand());
+    private static final Function<Product, String> PRODUCT_TYPE = product -> key(product.getProductType());
+    private static final Function<Product, String> CATEGORY = product -> key(categoryName(product));
+    private static final Function<Product, String> NAME = product -> key(product.getName());
+    private static final Function<Product, Boolean> POPULAR = product -> product.getPopularProduct() != null ? true : null;
+
+    private final long version;
+    private final List<Product> products;
+    private final Map<Long, Product> byId;
+    private final Map<String, List<Product>> byBrand;
+    private final Map<String, List<Product>> byProductType;
+    private final Map<String, List<Product>> byCategory;
+    private final Map<String, List<Product>> byName;
+    private final Map<ProductStatus, List<Product>> byStatus;
+    private final Map<Boolean, List<Product>> popular;
+    // The lists above, the only ones worth a sorted copy: any other list is never asked for again
+    private final Set<List<Product>> ownLists = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Sorted copies of this snapshot's lists, made on first request
+    private final Map<SortedView, List<Product>> sortedViews = new ConcurrentHashMap<>();
+    // Built on first filter request; rebuilding it twice in a race is harmless
+    private volatile ProductFacets facets;
+
+    private CatalogSnapshot(long version, List<Product> products, Map<Long, Product> byId,
+            Map<String, List<Product>> byBrand, Map<String, List<Product>> byProductType,
+            Map<String, List<Product>> byCategory, Map<String, List<Product>> byName,
+            Map<ProductStatus, List<Product>> byStatus, Map<Boolean, List<Product>> popular) {
+        this.version = version;
+        this.products = products;
+        this.byId = byId;
+        this.byBrand = byBrand;
+        this.byProductType = byProductType;
+        this.byCategory = byCategory;
+        this.byName = byName;
+        this.byStatus = byStatus;
+        this.popular = popular;
+        ownLists.add(products);
+        for (Map<?, List<Product>> index : List.of(byBrand, byProductType, byCategory, byName, byStatus, popular)) {
+            ownLists.addAll(index.values());
+        }
+    }
+
+    public static CatalogSnapshot of(long version, List<Product> products) {
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(BY_ID);
+        Map<Long, Product> byId = new HashMap<>(sorted.size() * 2);
+        sorted.forEach(product -> byId.put(product.getId(), product));
+        return new CatalogSnapshot(version, Collections.unmodifiableList(sorted), byId,
+                index(sorted, BRAND), index(sorted, PRODUCT_TYPE), index(sorted, CATEGORY), index(sorted, NAME),
+                index(sorted, Product::getStatus), index(sorted, POPULAR));
+    }
+
+    public static CatalogSnapshot empty() {
+        return of(0, List.of());
+    }
+
+    /**
+     * A copy with {@code product} added, or replacing the product with the same id. Only the index lists the
+     * old and new versions of the product belong to are rebuilt; every other list is shared with this snapshot.
+     */
+    public CatalogSnapshot with(long version, Product product) {
+        return patch(version, byId.get(product.getId()), product);
+    }
+
+    /**
+     * A copy without the product with the given id.
+     */
+    public CatalogSnapshot without(long version, Long productId) {
+        Product previous = byId.get(productId);
+        return previous == null ? this : patch(version, previous, null);
+    }
+
+    private CatalogSnapshot patch(long version, Product previous, Product next) {
+        Map<Long, Product> patchedById = new HashMap<>(byId);
+        if (next != null) {
+            patchedById.put(next.getId(), next);
+        } else {
+            patchedById.remove(previous.getId());
+        }
+        return new CatalogSnapshot(version, replace(products, previous, next), patchedById,
+                patch(byBrand, BRAND, previous, next), patch(byProductType, PRODUCT_TYPE, previous, next),
+                patch(byCategory, CATEGORY, previous, next), patch(byName, NAME, previous, next),
+                patch(byStatus, Product::getStatus, previous, next), patch(popular, POPULAR, previous, next));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public Product getById(Long id) {
+        return byId.get(id);
+    }
+
+    public List<Product> getByBrand(String brand) {
+        return lookup(byBrand, key(brand));
+    }
+
+    public List<Product> getByProductType(String productType) {
+        return lookup(byProductType, key(productType));
+    }
+
+    public List<Product> getByCategory(String category) {
+        return lookup(byCategory, key(category));
+    }
+
+    public List<Product> getByName(String name) {
+        return lookup(byName, key(name));
+    }
+
+    public List<Product> getByStatus(ProductStatus status) {
+        return lookup(byStatus, status);
+    }
+
+    public List<Product> getPopular() {
+        return lookup(popular, true);
+    }
+
+    /**
+     * Bitmap indexes for filtering this snapshot's active products by several attributes at once. Inactive
+     * products are neither matched nor counted.
+     */
+    public ProductFacets facets() {
+        ProductFacets current = facets;
+        if (current == null) {
+            current = new ProductFacets(getByStatus(ProductStatus.ACTIVE));
+            facets = current;
+        }
+        return current;
+    }
+
+    /**
+     * Products matching both keys, read from the smaller of the two indexes.
+     */
+    public List<Product> getByCategoryAndBrand(String category, String brand) {
+        return intersect(getByCategory(category), CATEGORY, category, getByBrand(brand), BRAND, brand);
+    }
+
+    public List<Product> getByBrandAndName(String brand, String name) {
+        return intersect(getByBrand(brand), BRAND, brand, getByName(name), NAME, name);
+    }
+
+    public List<Product> getByProductTypeAndName(String productType, String name) {
+        return intersect(getByProductType(productType), PRODUCT_TYPE, productType, getByName(name), NAME, name);
+    }
+
+    /**
+     * {@code view}, a list in id order, in the given order. Lists are kept in id order, so only the other orders are
+     * sorted: once per snapshot for this snapshot's own lists, on every call for lists built per call (such as
+     * intersections and filter results).
+     */
+    public List<Product> sorted(List<Product> view, ProductSort sort, boolean descending) {
+        if (sort == ProductSort.ID && !descending) {
+            return view;
+        }
+        if (!ownLists.contains(view)) {
+            return sort(view, sort, descending);
+        }
+        SortedView key = new SortedView(view, sort, descending);
+        List<Product> sorted = sortedViews.get(key);
+        if (sorted == null) {
+            sorted = sort(view, sort, descending);
+            if (sortedViews.size() < MAX_SORTED_VIEWS) {
+                sortedViews.putIfAbsent(key, sorted);
+            }
+        }
+        return sorted;
+    }
+
+    private static List<Product> sort(List<Product> view, ProductSort sort, boolean descending) {
+        List<Product> copy = new ArrayList<>(view);
+        copy.sort(sort.comparator(descending));
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Index in a list from {@link #sorted} of the first product after the cursor. The cursor is looked up in
+     * this snapshot, so it still finds its place after the product moved in the order.
+     */
+    public int seek(List<Product> sorted, ProductSort sort, boolean descending, Long after) {
+        if (after == null) {
+            return 0;
+        }
+        Product cursor = byId.get(after);
+        if (cursor == null) {
+            if (sort != ProductSort.ID) {
+                throw new IllegalArgumentException("Unknown cursor: " + after);
+            }
+            cursor = new Product();
+            cursor.setId(after);
+        }
+        int index = Collections.binarySearch(sorted, cursor, sort.comparator(descending));
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    static String key(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static <K> Map<K, List<Product>> index(List<Product> products, Function<Product, K> key) {
+        Map<K, List<Product>> index = new HashMap<>();
+        for (Product product : products) {
+            K value = key.apply(product);
+            if (value != null) {
+                index.computeIfAbsent(value, k -> new ArrayList<>()).add(product);
+            }
+        }
+        index.replaceAll((k, list) -> Collections.unmodifiableList(list));
+        return index;
+    }
+
+    private static <K> List<Product> lookup(Map<K, List<Product>> index, K key) {
+        return key == null ? List.of() : index.getOrDefault(key, List.of());
+    }
+
+    private static <K> Map<K, List<Product>> patch(Map<K, List<Product>> index, Function<Product, K> key,
+            Product previous, Product next) {
+        K previousKey = previous != null ? key.apply(previous) : null;
+        K nextKey = next != null ? key.apply(next) : null;
+        Map<K, List<Product>> patched = new HashMap<>(index);
+        if (previousKey != null) {
+            List<Product> remaining = replace(patched.get(previousKey), previous, null);
+            if (remaining.isEmpty()) {
+                patched.remove(previousKey);
+            } else {
+                patched.put(previousKey, remaining);
+            }
+        }
+        if (nextKey != null) {
+            patched.put(nextKey, replace(patched.getOrDefault(nextKey, List.of()), null, next));
+        }
+        return patched;
+    }
+
+    /**
+     * Copy of an id-ordered list with {@code previous} removed and {@code next} inserted in id order.
+     */
+    private static List<Product> replace(List<Product> products, Product previous, Product next) {
+        List<Product> copy = new ArrayList<>(products.size() + 1);
+        copy.addAll(products);
+        if (previous != null) {
+            int index = Collections.binarySearch(copy, previous, BY_ID);
+            if (index >= 0) {
+                copy.remove(index);
+            }
+        }
+        if (next != null) {
+            int index = Collections.binarySearch(copy, next, BY_ID);
+            copy.add(index >= 0 ? index : -index - 1, next);
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Walks the shorter of the two index lists and keeps the products that also match the other key.
+     */
+    private static List<Product> intersect(List<Product> first, Function<Product, String> firstKey, String firstValue,
+            List<Product> second, Function<Product, String> secondKey, String secondValue) {
+        if (first.size() <= second.size()) {
+            return filter(first, secondKey, secondValue);
+        }
+        return filter(second, firstKey, firstValue);
+    }
+
+    private static List<Product> filter(List<Product> products, Function<Product, String> key, String value) {
+        String wanted = key(value);
+        return products.stream().filter(product -> wanted.equals(key.apply(product))).toList();
+    }
+
+    private static String categoryName(Product product) {
+        return product.getCategory() != null ? product.getCategory().getName() : null;
+    }
+
+    // Views are this snapshot's own immutable lists, so they are told apart by identity
+    private record SortedView(List<Product> view, ProductSort sort, boolean descending) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SortedView that && view == that.view && sort == that.sort
+                    && descending == that.descending;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(view) * 31 + sort.hashCode()) * 2 + (descending ? 1 : 0);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.project.skin_me.service.product;
 
 import java.util.List;
+import java.util.Map;
 
 import com.project.skin_me.dto.ProductDto;
+import com.project.skin_me.dto.ProductFilterDto;
+import com.project.skin_me.dto.ProductPageDto;
 import com.project.skin_me.model.Product;
 import com.project.skin_me.request.AddProductRequest;
+import com.project.skin_me.request.ProductFilterRequest;
+import com.project.skin_me.request.ProductPageRequest;
 import com.project.skin_me.request.ProductUpdateRequest;
 
 public interface IProductService {
@@ -44,10 +49,23 @@ public interface IProductService {
 
     List<ProductDto> getConvertedProducts(List<Product> products);
 
+    /**
+     * One page of a listing returned by this service, converted to DTOs. Only the products on the page are
+     * converted.
+     */
+    ProductPageDto getConvertedPage(List<Product> products, ProductPageRequest page);
+
+    ProductFilterDto filterProducts(ProductFilterRequest filter, ProductPageRequest page);
+
     List<Product> getPopularProducts();
 
     String toMarkdownTable(List<Product> products);
 
+    /**
+     * The markdown table row of each product, keyed by product id in the order given.
+     */
+    Map<Long, String> toMarkdownRows(List<Product> products);
+
     List<Product> getAllProductsWithoutImages();
 
 }
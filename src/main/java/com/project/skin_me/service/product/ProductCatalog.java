@@ -0,0 +1,92 @@
+package com.project.skin_me.service.product;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.skin_me.event.CategoryChangedEvent;
+import com.project.skin_me.event.ProductChangedEvent;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.repository.ProductRepository;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. The snapshot is loaded on first use and patched with each
+ * committed product change, so catalog reads never reach the database in between.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // first among the change handlers, so the export already sees the change
+public class ProductCatalog implements ProductChangeHandler {
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalog.class);
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile CatalogSnapshot snapshot;
+    private long version;
+
+    public ProductCatalog(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        // A transaction of its own, so the loaded products are detached from the caller's persistence context
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /**
+     * Reloads the whole catalog, for changes made behind the service's back.
+     */
+    public synchronized void refresh() {
+        rebuild();
+    }
+
+    @Override
+    public synchronized void onProductSaved(Product product, ProductChangedEvent event) {
+        // Not loaded yet: the first read will see the change anyway
+        if (snapshot != null) {
+            snapshot = snapshot.with(++version, product);
+        }
+    }
+
+    @Override
+    public synchronized void onProductRemoved(Long productId, ProductChangedEvent event) {
+        if (snapshot != null) {
+            snapshot = snapshot.without(++version, productId);
+        }
+    }
+
+    /**
+     * A category was renamed or deleted: every product of it carries the old category, so the catalog is
+     * reloaded once the change is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void onCategoryChanged(CategoryChangedEvent event) {
+        if (snapshot != null) {
+            rebuild();
+        }
+    }
+
+    private CatalogSnapshot rebuild() {
+        CatalogSnapshot next = CatalogSnapshot.of(++version, transactionTemplate.execute(status ->
+                productRepository.findAllWithCategory()));
+        snapshot = next;
+        logger.debug("Catalog snapshot {} built with {} products", next.getVersion(), next.getProducts().size());
+        return next;
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.skin_me.service.product;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.skin_me.event.ProductChangedEvent;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.repository.ProductRepository;
+
+/**
+ * Turns a committed product event into one load of the changed product, which is then handed to every
+ * {@link ProductChangeHandler}. The cost of a change is independent of the size of the catalog.
+ */
+@Component
+public class ProductChangeDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeDispatcher.class);
+
+    private final ProductRepository productRepository;
+    private final List<ProductChangeHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductChangeDispatcher(ProductRepository productRepository, List<ProductChangeHandler> handlers,
+            PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.handlers = handlers;
+        // Handlers keep the product, so it is loaded outside the publisher's persistence context
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangedEvent event) {
+        Product product = transactionTemplate.execute(status ->
+                productRepository.findWithCategoryById(event.getProductId()).orElse(null));
+        for (ProductChangeHandler handler : handlers) {
+            try {
+                if (product != null) {
+                    handler.onProductSaved(product, event);
+                } else {
+                    handler.onProductRemoved(event.getProductId(), event);
+                }
+            } catch (RuntimeException e) {
+                // One stale view must not keep the others from seeing the change
+                logger.error("{} failed to apply change to product {}", handler.getClass().getSimpleName(),
+                        event.getProductId(), e);
+            }
+        }
+    }
+}
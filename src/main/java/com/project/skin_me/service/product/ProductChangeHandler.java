@@ -0,0 +1,21 @@
+package com.project.skin_me.service.product;
+
+import com.project.skin_me.event.ProductChangedEvent;
+import com.project.skin_me.model.Product;
+
+/**
+ * Keeps a derived view of the catalog (cache, index, export) up to date one product at a time. Handlers are
+ * called by {@link ProductChangeDispatcher} in {@code @Order} order, after the change has been committed.
+ */
+public interface ProductChangeHandler {
+
+    /**
+     * The product was added or changed; {@code product} is its committed state, detached and read-only.
+     */
+    void onProductSaved(Product product, ProductChangedEvent event);
+
+    /**
+     * The product no longer exists.
+     */
+    void onProductRemoved(Long productId, ProductChangedEvent event);
+}
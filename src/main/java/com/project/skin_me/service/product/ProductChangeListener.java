@@ -1,54 +1,186 @@
 package com.project.skin_me.service.product;
 
-import com.project.skin_me.event.ProductAddedEvent;
-import com.project.skin_me.event.ProductDeletedEvent;
-import com.project.skin_me.event.ProductUpdatedEvent;
-import lombok.RequiredArgsConstructor;
+import com.project.skin_me.event.CategoryChangedEvent;
+import com.project.skin_me.event.ProductChangedEvent;
+import com.project.skin_me.model.Product;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Exports the catalog as a markdown table. Changes are collected for {@code catalog.export.debounce-ms} and
+ * then applied in one export: the changed rows are rendered together, the rendered row of every other
+ * product is reused, and the file is replaced atomically. Exports run on a single thread, one at a time.
+ */
 @Service
-@RequiredArgsConstructor
-public class ProductChangeListener {
+public class ProductChangeListener implements ProductChangeHandler {
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeListener.class);
+
+    // Product properties shown in the table; changes to any other property leave the export as it is
+    private static final Set<String> EXPORTED_FIELDS = Set.of("name", "brand", "price", "productType", "inventory",
+            "category");
 
     private final IProductService productService;
+    private final Path exportDir;
+    private final long debounceMillis;
+    private final ScheduledExecutorService executor;
+
+    // Guarded by this; handed over to the export thread on each flush
+    private Map<Long, Product> pendingSaves = new LinkedHashMap<>();
+    private Set<Long> pendingRemovals = new HashSet<>();
+    private boolean fullExportPending;
+    private boolean flushScheduled;
 
-    @Value("${catalog.export.dir}")
-    private String exportDir;
+    // Guarded by rows; only touched by flush()
+    private final Map<Long, String> rows = new TreeMap<>();
+    private final StringBuilder buffer = new StringBuilder();
+    private boolean exported;
 
-    private Path getExportDir() {
-        return Paths.get(exportDir);
+    public ProductChangeListener(IProductService productService, @Value("${catalog.export.dir}") String exportDir,
+            @Value("${catalog.export.debounce-ms:500}") long debounceMillis) {
+        this.productService = productService;
+        this.exportDir = Paths.get(exportDir);
+        this.debounceMillis = debounceMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-export");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     private Path getCatalogFile() {
-        return getExportDir().resolve("product-catalog.md");
+        return exportDir.resolve("product-catalog.md");
     }
 
-    @Async
-    @EventListener({ProductAddedEvent.class, ProductUpdatedEvent.class, ProductDeletedEvent.class})
-    public void onProductChange() {
-        try {
-            Path exportPath = getExportDir();
-            Path catalogFile = getCatalogFile();
+    /**
+     * Schedules an export of the whole catalog, rendering every row again.
+     */
+    public synchronized void exportAll() {
+        fullExportPending = true;
+        scheduleFlush();
+    }
 
-            Files.createDirectories(exportPath);
+    /**
+     * Every row of a renamed or deleted category shows its old name, so the whole catalog is exported again.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        exportAll();
+    }
 
-            var products = productService.getAllProducts();
-            String md = productService.toMarkdownTable(products);
-            if (md == null || md.isBlank()) md = "_No products available._\n";
+    @Override
+    public synchronized void onProductSaved(Product product, ProductChangedEvent event) {
+        if (event.getChangedFields().stream().noneMatch(EXPORTED_FIELDS::contains)) {
+            return;
+        }
+        pendingRemovals.remove(product.getId());
+        pendingSaves.put(product.getId(), product);
+        scheduleFlush();
+    }
 
-            Files.writeString(catalogFile, md);
+    @Override
+    public synchronized void onProductRemoved(Long productId, ProductChangedEvent event) {
+        pendingSaves.remove(productId);
+        pendingRemovals.add(productId);
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            executor.schedule(this::flush, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Applies every change collected since the last export and writes the file once.
+     */
+    void flush() {
+        Map<Long, Product> saves;
+        Set<Long> removals;
+        boolean full;
+        synchronized (this) {
+            saves = pendingSaves;
+            removals = pendingRemovals;
+            full = fullExportPending;
+            pendingSaves = new LinkedHashMap<>();
+            pendingRemovals = new HashSet<>();
+            fullExportPending = false;
+            flushScheduled = false;
+        }
 
-            System.out.println("[CATALOG] Exported to " + catalogFile.toAbsolutePath());
-        } catch (Exception e) {
-            System.err.println("[CATALOG] EXPORT FAILED!");
-            e.printStackTrace();
+        // Changes arriving meanwhile only queue up; they never wait for the export
+        synchronized (rows) {
+            export(saves, removals, full || !exported);
         }
     }
-}
\ No newline at end of file
+
+    private void export(Map<Long, Product> saves, Set<Long> removals, boolean full) {
+        try {
+            if (full) {
+                rows.clear();
+                rows.putAll(productService.toMarkdownRows(productService.getAllProducts()));
+                exported = true;
+            } else {
+                rows.keySet().removeAll(removals);
+                if (!saves.isEmpty()) {
+                    rows.putAll(productService.toMarkdownRows(new ArrayList<>(saves.values())));
+                }
+            }
+            write();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Catalog export failed", e);
+            // Start from the database next time, so no change is lost
+            exported = false;
+        }
+    }
+
+    private void write() throws IOException {
+        buffer.setLength(0);
+        if (rows.isEmpty()) {
+            buffer.append("_No products available._\n");
+        } else {
+            buffer.append(ProductService.MARKDOWN_TABLE_HEADER);
+            rows.values().forEach(buffer::append);
+        }
+
+        Files.createDirectories(exportDir);
+        Path catalogFile = getCatalogFile();
+        Path temp = Files.createTempFile(exportDir, "product-catalog-", ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.append(buffer);
+            }
+            // Readers see either the previous export or this one, never a partly written file
+            Files.move(temp, catalogFile, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        logger.info("Exported {} products to {}", rows.size(), catalogFile.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,221 @@
+package com.project.skin_me.service.product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.project.skin_me.enums.ProductFacet;
+import com.project.skin_me.model.Product;
+
+/**
+ * Bitmap indexes over one {@link CatalogSnapshot}: a bit set per category, brand and product type value, one
+ * for the products in stock, and the products ordered by price. Bit {@code i} stands for the snapshot's
+ * {@code i}-th product, so any combination of filters is a few word-wise ANDs, and the facet counts come
+ * from the same bit sets without another pass over the catalog.
+ */
+public final class ProductFacets {
+
+    private final List<Product> products;
+    private final Map<ProductFacet, FacetIndex> facets = new EnumMap<>(ProductFacet.class);
+    private final BitSet inStock;
+    // Positions of the priced products, cheapest first, and their prices
+    private final int[] byPrice;
+    private final BigDecimal[] prices;
+
+    ProductFacets(List<Product> products) {
+        this.products = products;
+        for (ProductFacet facet : ProductFacet.values()) {
+            facets.put(facet, new FacetIndex(products, facet));
+        }
+        this.inStock = new BitSet(products.size());
+        List<Integer> priced = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            if (product.getInventory() > 0) {
+                inStock.set(i);
+            }
+            if (product.getPrice() != null) {
+                priced.add(i);
+            }
+        }
+        priced.sort(Comparator.comparing(i -> products.get(i).getPrice()));
+        this.byPrice = priced.stream().mapToInt(Integer::intValue).toArray();
+        this.prices = priced.stream().map(i -> products.get(i).getPrice()).toArray(BigDecimal[]::new);
+    }
+
+    /**
+     * Products matching every given filter, in id order, with the counts of each facet value. A facet's
+     * counts ignore that facet's own filter, so they tell how many products picking another value would add.
+     *
+     * @param selected values wanted per facet, matched case-insensitively; a facet left out is not filtered
+     * @param minPrice lowest price wanted, inclusive, or null
+     * @param maxPrice highest price wanted, inclusive, or null
+     */
+    public Result filter(Map<ProductFacet, ? extends Collection<String>> selected, BigDecimal minPrice,
+            BigDecimal maxPrice, boolean inStockOnly) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        Map<ProductFacet, BitSet> facetFilters = new EnumMap<>(ProductFacet.class);
+        selected.forEach((facet, values) -> {
+            if (values != null && !values.isEmpty()) {
+                facetFilters.put(facet, facets.get(facet).union(values));
+            }
+        });
+        List<BitSet> otherFilters = new ArrayList<>(2);
+        if (minPrice != null || maxPrice != null) {
+            otherFilters.add(priceRange(minPrice, maxPrice));
+        }
+
+        BitSet withoutStock = all();
+        facetFilters.values().forEach(withoutStock::and);
+        otherFilters.forEach(withoutStock::and);
+        BitSet matching = (BitSet) withoutStock.clone();
+        if (inStockOnly) {
+            matching.and(inStock);
+        }
+
+        Map<ProductFacet, Map<String, Integer>> counts = new EnumMap<>(ProductFacet.class);
+        for (ProductFacet facet : ProductFacet.values()) {
+            BitSet candidates = facetFilters.containsKey(facet) ? without(facet, facetFilters, otherFilters,
+                    inStockOnly) : matching;
+            counts.put(facet, facets.get(facet).count(candidates));
+        }
+        int inStockCount = cardinalityOfAnd(withoutStock, inStock);
+
+        List<Product> matches = new ArrayList<>(matching.cardinality());
+        for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+            matches.add(products.get(i));
+        }
+        return new Result(matches, counts, inStockCount, withoutStock.cardinality() - inStockCount);
+    }
+
+    private BitSet all() {
+        BitSet all = new BitSet(products.size());
+        all.set(0, products.size());
+        return all;
+    }
+
+    private BitSet without(ProductFacet excluded, Map<ProductFacet, BitSet> facetFilters, List<BitSet> otherFilters,
+            boolean inStockOnly) {
+        BitSet candidates = inStockOnly ? (BitSet) inStock.clone() : all();
+        facetFilters.forEach((facet, filter) -> {
+            if (facet != excluded) {
+                candidates.and(filter);
+            }
+        });
+        otherFilters.forEach(candidates::and);
+        return candidates;
+    }
+
+    private BitSet priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        int from = minPrice == null ? 0 : firstPriceAtLeast(minPrice, false);
+        int to = maxPrice == null ? byPrice.length : firstPriceAtLeast(maxPrice, true);
+        BitSet range = new BitSet(products.size());
+        for (int i = from; i < to; i++) {
+            range.set(byPrice[i]);
+        }
+        return range;
+    }
+
+    /**
+     * Index in {@link #prices} of the first price at least (or, if {@code strictly}, above) {@code price}.
+     */
+    private int firstPriceAtLeast(BigDecimal price, boolean strictly) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = prices[middle].compareTo(price);
+            if (comparison < 0 || strictly && comparison == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int cardinalityOfAnd(BitSet first, BitSet second) {
+        BitSet both = (BitSet) first.clone();
+        both.and(second);
+        return both.cardinality();
+    }
+
+    public record Result(List<Product> products, Map<ProductFacet, Map<String, Integer>> counts, int inStock,
+            int outOfStock) {
+    }
+
+    /**
+     * One bit set per distinct value of a facet, plus the value of each product to count facets by.
+     */
+    private static final class FacetIndex {
+        private final Map<String, Integer> valueIds = new HashMap<>();
+        // Spelling of each value as first seen in the catalog
+        private final List<String> labels = new ArrayList<>();
+        private final List<BitSet> members = new ArrayList<>();
+        private final int[] valueOfProduct;
+
+        FacetIndex(List<Product> products, ProductFacet facet) {
+            valueOfProduct = new int[products.size()];
+            Arrays.fill(valueOfProduct, -1);
+            for (int i = 0; i < products.size(); i++) {
+                String value = facet.valueOf(products.get(i));
+                if (value == null) {
+                    continue;
+                }
+                Integer id = valueIds.get(CatalogSnapshot.key(value));
+                if (id == null) {
+                    id = labels.size();
+                    valueIds.put(CatalogSnapshot.key(value), id);
+                    labels.add(value);
+                    members.add(new BitSet(products.size()));
+                }
+                members.get(id).set(i);
+                valueOfProduct[i] = id;
+            }
+        }
+
+        BitSet union(Collection<String> values) {
+            BitSet union = new BitSet(valueOfProduct.length);
+            for (String value : values) {
+                Integer id = valueIds.get(CatalogSnapshot.key(value));
+                if (id != null) {
+                    union.or(members.get(id));
+                }
+            }
+            return union;
+        }
+
+        /**
+         * Counts of the values among the candidates, most frequent first.
+         */
+        Map<String, Integer> count(BitSet candidates) {
+            int[] counts = new int[labels.size()];
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                if (valueOfProduct[i] >= 0) {
+                    counts[valueOfProduct[i]]++;
+                }
+            }
+            List<Integer> present = new ArrayList<>();
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] > 0) {
+                    present.add(id);
+                }
+            }
+            present.sort(Comparator.<Integer>comparingInt(id -> counts[id]).reversed()
+                    .thenComparing(labels::get, String.CASE_INSENSITIVE_ORDER));
+            Map<String, Integer> result = new LinkedHashMap<>();
+            present.forEach(id -> result.put(labels.get(id), counts[id]));
+            return result;
+        }
+    }
+}
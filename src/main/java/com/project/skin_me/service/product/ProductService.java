@@ -1,40 +1,60 @@
 package com.project.skin_me.service.product;
 
+import com.project.skin_me.enums.ProductFacet;
+import com.project.skin_me.enums.ProductSort;
 import com.project.skin_me.enums.ProductStatus;
 import com.project.skin_me.event.ProductAddedEvent;
 import com.project.skin_me.event.ProductDeletedEvent;
 import com.project.skin_me.event.ProductUpdatedEvent;
 import com.project.skin_me.exception.AlreadyExistsException;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import com.project.skin_me.dto.ImageDto;
+import com.project.skin_me.dto.ImageMetadataDto;
 import com.project.skin_me.dto.ProductDto;
+import com.project.skin_me.dto.ProductFilterDto;
+import com.project.skin_me.dto.ProductPageDto;
 import com.project.skin_me.exception.ProductNotFoundException;
+import com.project.skin_me.mapper.ImageMapper;
+import com.project.skin_me.mapper.ProductMapper;
 import com.project.skin_me.exception.ResourceNotFoundException;
 import com.project.skin_me.model.Category;
-import com.project.skin_me.model.Image;
 import com.project.skin_me.model.Product;
 import com.project.skin_me.repository.CategoryRepository;
 import com.project.skin_me.repository.ImageRepository;
 import com.project.skin_me.repository.ProductRepository;
 import com.project.skin_me.request.AddProductRequest;
+import com.project.skin_me.request.ProductFilterRequest;
+import com.project.skin_me.request.ProductPageRequest;
 import com.project.skin_me.request.ProductUpdateRequest;
 import lombok.RequiredArgsConstructor;
 
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService implements IProductService {
 
+    public static final String MARKDOWN_TABLE_HEADER = "| ID | Name | Brand | Price | Type | Inventory | Category | Images |\n"
+            + "|----|------|-------|-------|------|-----------|----------|--------|\n";
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ImageRepository imageRepository;
-    private final ModelMapper modelMapper;
+    private final ProductCatalog productCatalog;
+    private final ProductMapper productMapper;
+    private final ImageMapper imageMapper;
 
     @Autowired
     private ApplicationEventPublisher eventPublisher;
@@ -58,7 +78,7 @@ public class ProductService implements IProductService {
 
         request.setCategory(category);
         Product product = productRepository.save(createProduct(request, category));
-        eventPublisher.publishEvent(new ProductAddedEvent(this));
+        eventPublisher.publishEvent(new ProductAddedEvent(this, product.getId()));
 
         return product;
     }
@@ -69,7 +89,7 @@ public class ProductService implements IProductService {
                 .ifPresentOrElse(product -> {
                     product.setStatus(ProductStatus.INACTIVE);
                     productRepository.save(product);
-                    eventPublisher.publishEvent(new ProductDeletedEvent(this));
+                    eventPublisher.publishEvent(new ProductDeletedEvent(this, id));
                 }, () -> {
                     throw new ProductNotFoundException("Product not found!");
                 });
@@ -77,17 +97,19 @@ public class ProductService implements IProductService {
 
     @Override
     public List<Product> getActiveProducts() {
-        return productRepository.findByStatus(ProductStatus.ACTIVE);
+        return productCatalog.snapshot().getByStatus(ProductStatus.ACTIVE);
     }
 
     @Override
     public Product updateProduct(ProductUpdateRequest product, Long productId) {
         return productRepository.findById(productId)
                 .map(existingProduct -> {
-                    Product updatedProduct = updateExistingProduct(existingProduct, product);
-                    Product savedProduct = productRepository.save(updatedProduct);
+                    Set<String> changedFields = updateExistingProduct(existingProduct, product);
+                    Product savedProduct = productRepository.save(existingProduct);
                     // 🔥 PUBLISH EVENT AFTER SUCCESSFUL UPDATE
-                    eventPublisher.publishEvent(new ProductUpdatedEvent(this));
+                    if (!changedFields.isEmpty()) {
+                        eventPublisher.publishEvent(new ProductUpdatedEvent(this, productId, changedFields));
+                    }
                     return savedProduct;
                 })
                 .orElseThrow(() -> new ProductNotFoundException("Product not found!!"));
@@ -95,13 +117,14 @@ public class ProductService implements IProductService {
 
     @Override
     public List<Product> getAllProducts() {
-        return productRepository.findAllWithCategory(); // Optimized: fetch category to avoid N+1
+        return productCatalog.snapshot().getProducts();
     }
 
     public List<Product> getAllProductsWithoutImages() {
-        return productRepository.findAll();
+        return productCatalog.snapshot().getProducts();
     }
 
+    // Loaded from the database rather than the snapshot: callers attach the product to new rows or modify it
     @Override
     public Product getProductById(Long productId) {
         return productRepository.findById(productId)
@@ -124,14 +147,22 @@ public class ProductService implements IProductService {
                 category);
     }
 
-    private Product updateExistingProduct(Product existingProduct, ProductUpdateRequest request) {
-        existingProduct.setName(request.getName());
-        existingProduct.setBrand(request.getBrand());
-        existingProduct.setPrice(request.getPrice());
-        existingProduct.setProductType(request.getProductType());
-        existingProduct.setInventory(request.getInventory());
-        existingProduct.setDescription(request.getDescription());
-        existingProduct.setHowToUse(request.getHowToUse());
+    /**
+     * Applies the request and returns the names of the properties whose value actually changed.
+     */
+    private Set<String> updateExistingProduct(Product existingProduct, ProductUpdateRequest request) {
+        Set<String> changedFields = new HashSet<>();
+        update(changedFields, "name", existingProduct.getName(), request.getName(), existingProduct::setName);
+        update(changedFields, "brand", existingProduct.getBrand(), request.getBrand(), existingProduct::setBrand);
+        update(changedFields, "price", existingProduct.getPrice(), request.getPrice(), existingProduct::setPrice);
+        update(changedFields, "productType", existingProduct.getProductType(), request.getProductType(),
+                existingProduct::setProductType);
+        update(changedFields, "inventory", existingProduct.getInventory(), request.getInventory(),
+                existingProduct::setInventory);
+        update(changedFields, "description", existingProduct.getDescription(), request.getDescription(),
+                existingProduct::setDescription);
+        update(changedFields, "howToUse", existingProduct.getHowToUse(), request.getHowToUse(),
+                existingProduct::setHowToUse);
 
         if (request.getCategory() != null) {
             Category category = categoryRepository.findByname(request.getCategory().getName());
@@ -140,86 +171,171 @@ public class ProductService implements IProductService {
                         .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
             }
             if (category != null) {
+                Long previousCategoryId = existingProduct.getCategory() != null ? existingProduct.getCategory().getId() : null;
+                if (!Objects.equals(previousCategoryId, category.getId())) {
+                    changedFields.add("category");
+                }
                 existingProduct.setCategory(category);
             }
         }
 
         if (request.getStatus() != null) {
-            existingProduct.setStatus(request.getStatus());
+            update(changedFields, "status", existingProduct.getStatus(), request.getStatus(), existingProduct::setStatus);
         }
 
-        return existingProduct;
+        return changedFields;
+    }
+
+    private static <T> void update(Set<String> changedFields, String field, T current, T value, Consumer<T> setter) {
+        boolean changed = current instanceof BigDecimal decimal && value instanceof BigDecimal other
+                ? decimal.compareTo(other) != 0
+                : !Objects.equals(current, value);
+        if (changed) {
+            changedFields.add(field);
+        }
+        setter.accept(value);
     }
 
     @Override
     public List<Product> getAllProductsByCategory(String category) {
-        // Use optimized query with JOIN FETCH to avoid N+1 issues
-        return productRepository.findByCategoryNameWithCategory(category);
+        return productCatalog.snapshot().getByCategory(category);
     }
 
     @Override
     public List<Product> getProductsByBrand(String brand) {
-        return productRepository.findByBrand(brand);
+        return productCatalog.snapshot().getByBrand(brand);
     }
 
     @Override
     public List<Product> getProductsByName(String name) {
-        return productRepository.findByName(name);
+        return productCatalog.snapshot().getByName(name);
     }
 
     @Override
     public List<Product> getProductsByProductType(String productType) {
-        return productRepository.findByProductType(productType);
+        return productCatalog.snapshot().getByProductType(productType);
     }
 
     @Override
     public List<Product> getProductsByCategoryAndBrand(String category, String brand) {
-        return productRepository.findByCategory_NameAndBrand(category, brand);
+        return productCatalog.snapshot().getByCategoryAndBrand(category, brand);
     }
 
     @Override
     public List<Product> getProductsByBrandAndName(String brand, String name) {
-        return productRepository.findByBrandAndName(brand, name);
+        return productCatalog.snapshot().getByBrandAndName(brand, name);
     }
 
     @Override
     public List<Product> getProductsByProductTypeAndName(String productType, String name) {
-        return productRepository.findByProductTypeAndName(productType, name);
+        return productCatalog.snapshot().getByProductTypeAndName(productType, name);
     }
 
     @Override
     public Long countProductsByBrandAndName(String brand, String name) {
-        return productRepository.countByBrandAndName(brand, name);
+        return (long) productCatalog.snapshot().getByBrandAndName(brand, name).size();
     }
 
     @Override
     public List<ProductDto> getConvertedProducts(List<Product> products) {
-        return products.stream().map(this::convertToDto).toList();
+        if (products == null || products.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<ImageMetadataDto>> imagesByProduct = getImageMetadataByProduct(products);
+        return products.stream()
+                .map(product -> toDto(product, imagesByProduct.getOrDefault(product.getId(), List.of())))
+                .toList();
+    }
+
+    @Override
+    public ProductPageDto getConvertedPage(List<Product> products, ProductPageRequest page) {
+        return page(productCatalog.snapshot(), products, page);
+    }
+
+    @Override
+    public ProductFilterDto filterProducts(ProductFilterRequest filter, ProductPageRequest page) {
+        CatalogSnapshot snapshot = productCatalog.snapshot();
+        Map<ProductFacet, List<String>> selected = new EnumMap<>(ProductFacet.class);
+        putIfPresent(selected, ProductFacet.CATEGORY, filter.getCategory());
+        putIfPresent(selected, ProductFacet.BRAND, filter.getBrand());
+        putIfPresent(selected, ProductFacet.PRODUCT_TYPE, filter.getProductType());
+        ProductFacets.Result result = snapshot.facets().filter(selected, filter.getMinPrice(), filter.getMaxPrice(),
+                filter.isInStock());
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facets.put(facet.getParameterValue(), counts));
+        facets.put("inStock", Map.of("true", result.inStock(), "false", result.outOfStock()));
+        // A list of its own, so CatalogSnapshot.sorted() sorts it without caching it
+        ProductPageDto productPage = page(snapshot, result.products(), page);
+        return new ProductFilterDto(productPage.getProducts(), productPage.getNextCursor(), result.products().size(),
+                facets);
+    }
+
+    private static void putIfPresent(Map<ProductFacet, List<String>> selected, ProductFacet facet,
+            List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            selected.put(facet, values);
+        }
+    }
+
+    private ProductPageDto page(CatalogSnapshot snapshot, List<Product> products, ProductPageRequest page) {
+        int limit = page.getLimit() != null ? page.getLimit() : ProductPageRequest.DEFAULT_LIMIT;
+        if (limit < 1 || limit > ProductPageRequest.MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + ProductPageRequest.MAX_LIMIT);
+        }
+        ProductSort sort = page.getSort() != null ? ProductSort.fromParameter(page.getSort()) : ProductSort.ID;
+        boolean descending = parseDirection(page.getDirection());
+
+        // Sorting is cached per snapshot and the cursor is a binary search, so a page costs O(log n + limit)
+        List<Product> sorted = snapshot.sorted(products, sort, descending);
+        int start = snapshot.seek(sorted, sort, descending, page.getAfter());
+        int end = Math.min(sorted.size(), start + limit);
+        List<Product> pageProducts = sorted.subList(start, end);
+
+        Long nextCursor = end < sorted.size() ? pageProducts.getLast().getId() : null;
+        return new ProductPageDto(getConvertedProducts(pageProducts), nextCursor);
+    }
+
+    private static boolean parseDirection(String direction) {
+        if (direction == null || "asc".equalsIgnoreCase(direction)) {
+            return false;
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unknown direction: " + direction);
     }
 
     @Override
     public ProductDto convertToDto(Product product) {
-        ProductDto productDto = modelMapper.map(product, ProductDto.class);
+        return toDto(product, imageRepository.findMetadataByProductId(product.getId()));
+    }
+
+    private ProductDto toDto(Product product, List<ImageMetadataDto> images) {
+        ProductDto productDto = productMapper.toDto(product);
 
-        List<Image> images = imageRepository.findByProductId(product.getId());
-        List<ImageDto> imageDtos = images.stream().map(image -> {
-            ImageDto dto = new ImageDto();
-            dto.setImageId(image.getId());
-            dto.setFileName(image.getFileName());
-            dto.setDownloadUrl(image.getDownloadUrl());
-            return dto;
-        }).toList();
+        List<ImageDto> imageDtos = images.stream().map(imageMapper::toDto).toList();
 
         productDto.setImages(imageDtos);
         return productDto;
     }
 
+    /**
+     * Loads the image metadata of every product in one query (never the image bytes) and groups it by product id.
+     */
+    private Map<Long, List<ImageMetadataDto>> getImageMetadataByProduct(List<Product> products) {
+        List<Long> productIds = products.stream().map(Product::getId).filter(Objects::nonNull).distinct().toList();
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return imageRepository.findMetadataByProductIdIn(productIds).stream()
+                .collect(Collectors.groupingBy(ImageMetadataDto::getProductId));
+    }
+
     @Override
     public List<Product> getPopularProducts() {
-        return productRepository.findAll()
-                .stream()
-                .filter(p -> p.getPopularProduct() != null)
-                .toList();
+        return productCatalog.snapshot().getPopular();
     }
 
     private String escapeMarkdown(String s) {
@@ -232,29 +348,43 @@ public class ProductService implements IProductService {
             return "_No products available._\n";
         }
 
-        StringBuilder md = new StringBuilder();
-        md.append("| ID | Name | Brand | Price | Type | Inventory | Category | Images |\n");
-        md.append("|----|------|-------|-------|------|-----------|----------|--------|\n");
+        StringBuilder md = new StringBuilder(MARKDOWN_TABLE_HEADER);
+        toMarkdownRows(products).values().forEach(md::append);
+        return md.toString();
+    }
 
+    @Override
+    public Map<Long, String> toMarkdownRows(List<Product> products) {
+        Map<Long, List<ImageMetadataDto>> imagesByProduct = getImageMetadataByProduct(products);
+
+        Map<Long, String> rows = new LinkedHashMap<>();
+        // One buffer for every row; String.format would parse the pattern again for each product
+        StringBuilder row = new StringBuilder(256);
         for (Product p : products) {
-            String images = (p.getImages() != null && !p.getImages().isEmpty())
-                    ? p.getImages().stream()
-                    .map(img -> String.format("[%s](%s)", escapeMarkdown(img.getFileName()), img.getDownloadUrl()))
-                    .collect(Collectors.joining(", "))
-                    : "_none_";
-
-            String category = p.getCategory() != null ? escapeMarkdown(p.getCategory().getName()) : "_none_";
-
-            md.append(String.format("| %d | %s | %s | $%s | %s | %d | %s | %s |\n",
-                    p.getId(),
-                    escapeMarkdown(p.getName()),
-                    escapeMarkdown(p.getBrand()),
-                    p.getPrice(),
-                    escapeMarkdown(p.getProductType()),
-                    p.getInventory(),
-                    category,
-                    images));
+            row.setLength(0);
+            row.append("| ").append(p.getId())
+                    .append(" | ").append(escapeMarkdown(p.getName()))
+                    .append(" | ").append(escapeMarkdown(p.getBrand()))
+                    .append(" | $").append(p.getPrice())
+                    .append(" | ").append(escapeMarkdown(p.getProductType()))
+                    .append(" | ").append(p.getInventory())
+                    .append(" | ").append(p.getCategory() != null ? escapeMarkdown(p.getCategory().getName()) : "_none_")
+                    .append(" | ");
+
+            List<ImageMetadataDto> productImages = imagesByProduct.getOrDefault(p.getId(), List.of());
+            if (productImages.isEmpty()) {
+                row.append("_none_");
+            }
+            for (int i = 0; i < productImages.size(); i++) {
+                ImageMetadataDto img = productImages.get(i);
+                if (i > 0) {
+                    row.append(", ");
+                }
+                row.append('[').append(escapeMarkdown(img.getFileName())).append("](").append(imageMapper.downloadUrl(img)).append(')');
+            }
+            row.append(" |\n");
+            rows.put(p.getId(), row.toString());
         }
-        return md.toString();
+        return rows;
     }
-}
\ No newline at end of file
+}
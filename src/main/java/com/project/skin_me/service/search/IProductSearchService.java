@@ -0,0 +1,13 @@
+package com.project.skin_me.service.search;
+
+import java.util.List;
+
+import com.project.skin_me.model.Product;
+
+public interface IProductSearchService {
+
+    /**
+     * Active products matching the free-text query, best match first.
+     */
+    List<Product> search(String query, int limit);
+}
@@ -0,0 +1,14 @@
+package com.project.skin_me.service.search;
+
+import java.util.List;
+
+import com.project.skin_me.dto.SuggestionDto;
+
+public interface IProductSuggestService {
+
+    /**
+     * Product names, brands and types of the active catalog with a word starting with {@code prefix}, most
+     * ordered first.
+     */
+    List<SuggestionDto> suggest(String prefix, int limit);
+}
@@ -0,0 +1,344 @@
+package com.project.skin_me.service.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import com.project.skin_me.model.Product;
+
+/**
+ * In-memory inverted index over the searchable text of products, ranked with BM25. Each field counts with
+ * its own weight, so a match in the name outranks one in the instructions. A query term also matches the
+ * terms it is a prefix of and, from four characters on, terms one or two typos away, both at a discount.
+ * Searches share a read lock; single-product updates take the write lock briefly.
+ */
+public class ProductSearchIndex {
+
+    private enum Field {
+        NAME(3.0f, Product::getName),
+        BRAND(2.0f, Product::getBrand),
+        PRODUCT_TYPE(2.0f, Product::getProductType),
+        DESCRIPTION(1.0f, Product::getDescription),
+        HOW_TO_USE(0.5f, Product::getHowToUse);
+
+        private final float weight;
+        private final Function<Product, String> text;
+
+        Field(float weight, Function<Product, String> text) {
+            this.weight = weight;
+            this.text = text;
+        }
+    }
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.7;
+    private static final double TYPO_WEIGHT = 0.5;
+    // Bounds the work for very short prefixes such as "s"
+    private static final int MAX_EXPANSIONS = 64;
+
+    // Term -> documents containing it; documents are numbered densely so scores can live in arrays
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Integer> documents = new HashMap<>();
+    private final ArrayDeque<Integer> freeDocuments = new ArrayDeque<>();
+    private long[] productIds = new long[16];
+    private float[] lengths = new float[16];
+    // Terms of each document, kept to remove it again
+    private String[][] terms = new String[16][];
+    private int documentCount;
+    private double totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Scores> scratch = ThreadLocal.withInitial(Scores::new);
+
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            freeDocuments.clear();
+            documentCount = 0;
+            totalLength = 0;
+            products.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the product, or replaces its previous text.
+     */
+    public void put(Product product) {
+        lock.writeLock().lock();
+        try {
+            delete(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            delete(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the best matching products, best first. Products matching more of the query terms rank higher;
+     * equal scores are ordered by id.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            int count = documents.size();
+            double averageLength = totalLength / count;
+            Scores scores = scratch.get();
+            scores.ensureCapacity(documentCount);
+            for (String token : tokens) {
+                // A product scores once per query term, through its best matching index term
+                expand(token).forEach((term, weight) -> {
+                    Postings termPostings = postings.get(term);
+                    double idf = Math.log(1 + (count - termPostings.size + 0.5) / (termPostings.size + 0.5));
+                    for (int i = 0; i < termPostings.size; i++) {
+                        int document = termPostings.documents[i];
+                        float tf = termPostings.frequencies[i];
+                        double norm = K1 * (1 - B + B * lengths[document] / averageLength);
+                        scores.offerTermScore(document, weight * idf * tf * (K1 + 1) / (tf + norm));
+                    }
+                });
+                scores.endTerm();
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Product product) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        for (Field field : Field.values()) {
+            for (String token : SearchTokenizer.tokenize(field.text.apply(product))) {
+                frequencies.merge(token, field.weight, Float::sum);
+                length += field.weight;
+            }
+        }
+        if (frequencies.isEmpty()) {
+            return;
+        }
+        int document = freeDocuments.isEmpty() ? documentCount++ : freeDocuments.pop();
+        if (document == productIds.length) {
+            int capacity = productIds.length * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            terms = Arrays.copyOf(terms, capacity);
+        }
+        frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new Postings()).add(document, tf));
+        productIds[document] = product.getId();
+        lengths[document] = length;
+        terms[document] = frequencies.keySet().toArray(String[]::new);
+        documents.put(product.getId(), document);
+        totalLength += length;
+    }
+
+    private void delete(Long productId) {
+        Integer document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        for (String term : terms[document]) {
+            Postings termPostings = postings.get(term);
+            termPostings.remove(document);
+            if (termPostings.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= lengths[document];
+        terms[document] = null;
+        freeDocuments.push(document);
+    }
+
+    /**
+     * Index terms the query token stands for, with the weight of each kind of match.
+     */
+    private Map<String, Double> expand(String token) {
+        Map<String, Double> matches = new HashMap<>();
+        if (postings.containsKey(token)) {
+            matches.put(token, 1.0);
+        }
+        if (token.length() >= 2) {
+            int added = 0;
+            for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+                if (added++ == MAX_EXPANSIONS) {
+                    break;
+                }
+                matches.putIfAbsent(term, PREFIX_WEIGHT);
+            }
+        }
+        if (matches.isEmpty() && token.length() >= 4) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            // Like most search engines, typos in the first character are not corrected; that keeps the scan small
+            String first = token.substring(0, 1);
+            for (String term : postings.subMap(first, true, first + Character.MAX_VALUE, false).keySet()) {
+                if (Math.abs(term.length() - token.length()) <= maxEdits && withinEdits(token, term, maxEdits)) {
+                    matches.putIfAbsent(term, TYPO_WEIGHT);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Levenshtein distance of at most {@code maxEdits}, giving up as soon as a row exceeds it.
+     */
+    static boolean withinEdits(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    private List<Long> top(Scores scores, int limit) {
+        // Min-heap of the best documents so far: lowest score, then highest product id, at the head
+        Comparator<Integer> byRank = Comparator.<Integer>comparingDouble(document -> scores.total[document])
+                .thenComparing(document -> productIds[document], Comparator.reverseOrder());
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, byRank);
+        for (int i = 0; i < scores.matched; i++) {
+            best.offer(scores.matches[i]);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        Long[] ids = new Long[best.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = productIds[best.poll()];
+        }
+        scores.clear();
+        return List.of(ids);
+    }
+
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+
+        void add(int document, float frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int document) {
+            for (int i = 0; i < size; i++) {
+                if (documents[i] == document) {
+                    // Order does not matter, so the last entry fills the gap
+                    size--;
+                    documents[i] = documents[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Per-thread score accumulators, reset after each search by walking only the documents that matched.
+     */
+    private static final class Scores {
+        private double[] total = new double[0];
+        private double[] term = new double[0];
+        private int[] matches = new int[0];
+        private int[] termMatches = new int[0];
+        private int matched;
+        private int termMatched;
+
+        void ensureCapacity(int documents) {
+            if (total.length < documents) {
+                total = new double[documents];
+                term = new double[documents];
+                matches = new int[documents];
+                termMatches = new int[documents];
+            }
+        }
+
+        void offerTermScore(int document, double score) {
+            if (term[document] == 0) {
+                termMatches[termMatched++] = document;
+                term[document] = score;
+            } else if (score > term[document]) {
+                term[document] = score;
+            }
+        }
+
+        void endTerm() {
+            for (int i = 0; i < termMatched; i++) {
+                int document = termMatches[i];
+                if (total[document] == 0) {
+                    matches[matched++] = document;
+                }
+                total[document] += term[document];
+                term[document] = 0;
+            }
+            termMatched = 0;
+        }
+
+        void clear() {
+            for (int i = 0; i < matched; i++) {
+                total[matches[i]] = 0;
+            }
+            matched = 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.skin_me.service.search;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.project.skin_me.enums.ProductStatus;
+import com.project.skin_me.event.ProductChangedEvent;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.service.product.CatalogSnapshot;
+import com.project.skin_me.service.product.ProductCatalog;
+import com.project.skin_me.service.product.ProductChangeHandler;
+
+/**
+ * Searches the active catalog through a {@link ProductSearchIndex}. The index is built from the catalog
+ * snapshot at startup and then kept current product by product.
+ */
+@Service
+public class ProductSearchService implements IProductSearchService, ProductChangeHandler {
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchService.class);
+
+    // Product properties that feed the index; changes to any other property leave it as it is
+    private static final Set<String> INDEXED_FIELDS = Set.of("name", "brand", "productType", "description",
+            "howToUse", "status");
+
+    private final ProductCatalog productCatalog;
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    private volatile boolean built;
+
+    public ProductSearchService(ProductCatalog productCatalog) {
+        this.productCatalog = productCatalog;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Product> products = productCatalog.snapshot().getByStatus(ProductStatus.ACTIVE);
+        index.rebuild(products);
+        built = true;
+        logger.info("Search index built with {} products", products.size());
+    }
+
+    @Override
+    public List<Product> search(String query, int limit) {
+        if (!built) {
+            ensureBuilt();
+        }
+        CatalogSnapshot snapshot = productCatalog.snapshot();
+        return index.search(query, limit).stream()
+                .map(snapshot::getById)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private synchronized void ensureBuilt() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public synchronized void onProductSaved(Product product, ProductChangedEvent event) {
+        if (!built || event.getChangedFields().stream().noneMatch(INDEXED_FIELDS::contains)) {
+            return;
+        }
+        if (product.getStatus() == ProductStatus.ACTIVE) {
+            index.put(product);
+        } else {
+            index.remove(product.getId());
+        }
+    }
+
+    @Override
+    public synchronized void onProductRemoved(Long productId, ProductChangedEvent event) {
+        if (built) {
+            index.remove(productId);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.project.skin_me.service.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.project.skin_me.dto.SuggestionDto;
+import com.project.skin_me.enums.SuggestionType;
+import com.project.skin_me.model.Product;
+
+/**
+ * Compressed prefix trie (radix tree) over product names, brands and product types for typeahead. Every
+ * word of a text starts a key, so "hydr" finds "CeraVe Hydrating Cleanser". Each node keeps the best
+ * {@link #MAX_SUGGESTIONS} suggestions of its subtree, ranked by total orders, so a lookup is a walk down
+ * the prefix and a copy of that list. Brands and types are suggested once, with the orders of all their
+ * products added up.
+ */
+public class ProductSuggestIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<SuggestionDto> BY_RANK = Comparator
+            .comparingLong(SuggestionDto::getTotalOrders).reversed()
+            .thenComparing(SuggestionDto::getText, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(SuggestionDto::getType)
+            .thenComparing(SuggestionDto::getProductId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Node root = new Node("");
+    // What each product contributed, to take it out again
+    private final Map<Long, Product> products = new HashMap<>();
+    // Brand and product type suggestions by type and key, with their running totals
+    private final Map<String, Aggregate> aggregates = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void rebuild(Collection<Product> catalog) {
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.terminals.clear();
+            root.top = List.of();
+            products.clear();
+            aggregates.clear();
+            // Totals first, so each brand and type goes into the trie once rather than once per product
+            for (Product product : catalog) {
+                products.put(product.getId(), product);
+                if (product.getName() != null) {
+                    insert(nameSuggestion(product));
+                }
+                total(SuggestionType.BRAND, product.getBrand(), product.getTotalOrders(), 1);
+                total(SuggestionType.PRODUCT_TYPE, product.getProductType(), product.getTotalOrders(), 1);
+            }
+            aggregates.forEach((key, aggregate) -> insert(aggregate.suggestion()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the product, or replaces what it previously contributed.
+     */
+    public void put(Product product) {
+        lock.writeLock().lock();
+        try {
+            delete(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            delete(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best suggestions for texts with a word starting with {@code prefix}, most ordered first.
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int matched = 0;
+            while (matched < key.length()) {
+                Node child = node.children.get(key.charAt(matched));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefix(child.label, key, matched);
+                // The prefix may end inside the child's label, which then stands for the whole subtree
+                if (common < child.label.length() && matched + common < key.length()) {
+                    return List.of();
+                }
+                matched += common;
+                node = child;
+            }
+            return List.copyOf(node.top.subList(0, Math.min(limit, node.top.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Product product) {
+        products.put(product.getId(), product);
+        if (product.getName() != null) {
+            insert(nameSuggestion(product));
+        }
+        adjust(SuggestionType.BRAND, product.getBrand(), product.getTotalOrders(), 1);
+        adjust(SuggestionType.PRODUCT_TYPE, product.getProductType(), product.getTotalOrders(), 1);
+    }
+
+    private void delete(Long productId) {
+        Product product = products.remove(productId);
+        if (product == null) {
+            return;
+        }
+        if (product.getName() != null) {
+            erase(nameSuggestion(product));
+        }
+        adjust(SuggestionType.BRAND, product.getBrand(), product.getTotalOrders(), -1);
+        adjust(SuggestionType.PRODUCT_TYPE, product.getProductType(), product.getTotalOrders(), -1);
+    }
+
+    private static SuggestionDto nameSuggestion(Product product) {
+        return new SuggestionDto(product.getName(), SuggestionType.PRODUCT, product.getId(),
+                product.getTotalOrders());
+    }
+
+    /**
+     * Moves a brand or type suggestion to its new total: the old entry is taken out and the new one put in.
+     */
+    private void adjust(SuggestionType type, String text, long orders, int products) {
+        Aggregate aggregate = aggregates.get(aggregateKey(type, text));
+        if (aggregate != null) {
+            erase(aggregate.suggestion());
+        }
+        aggregate = total(type, text, orders, products);
+        if (aggregate != null) {
+            insert(aggregate.suggestion());
+        }
+    }
+
+    /**
+     * Updates the running total, and returns it unless no product is left.
+     */
+    private Aggregate total(SuggestionType type, String text, long orders, int products) {
+        String key = aggregateKey(type, text);
+        if (key == null) {
+            return null;
+        }
+        Aggregate aggregate = aggregates.computeIfAbsent(key, k -> new Aggregate(text, type));
+        aggregate.products += products;
+        aggregate.totalOrders += products * orders;
+        if (aggregate.products > 0) {
+            return aggregate;
+        }
+        aggregates.remove(key);
+        return null;
+    }
+
+    private static String aggregateKey(SuggestionType type, String text) {
+        String key = normalize(text);
+        return key.isEmpty() ? null : type + ":" + key;
+    }
+
+    private void insert(SuggestionDto suggestion) {
+        for (String key : keys(suggestion.getText())) {
+            Node node = root;
+            offer(node, suggestion);
+            int matched = 0;
+            while (matched < key.length()) {
+                Node child = node.children.get(key.charAt(matched));
+                if (child == null) {
+                    child = new Node(key.substring(matched));
+                    node.children.put(key.charAt(matched), child);
+                } else {
+                    int common = commonPrefix(child.label, key, matched);
+                    if (common < child.label.length()) {
+                        child = split(node, child, common);
+                    }
+                }
+                matched += child.label.length();
+                node = child;
+                offer(node, suggestion);
+            }
+            node.terminals.add(suggestion);
+        }
+    }
+
+    private void erase(SuggestionDto suggestion) {
+        for (String key : keys(suggestion.getText())) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int matched = 0;
+            while (node != null && matched < key.length()) {
+                node = node.children.get(key.charAt(matched));
+                if (node != null) {
+                    matched += node.label.length();
+                    path.add(node);
+                }
+            }
+            if (node == null || !node.terminals.remove(suggestion)) {
+                continue;
+            }
+            // Bottom-up, so each node recomputes from its children's already fixed lists
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node current = path.get(i);
+                if (i > 0 && current.terminals.isEmpty() && current.children.isEmpty()) {
+                    path.get(i - 1).children.remove(current.label.charAt(0));
+                } else if (current.top.contains(suggestion)) {
+                    current.top = best(current);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits {@code child}'s label after {@code length} characters into a new node between it and its parent.
+     */
+    private static Node split(Node parent, Node child, int length) {
+        Node middle = new Node(child.label.substring(0, length));
+        middle.top = child.top;
+        child.label = child.label.substring(length);
+        middle.children.put(child.label.charAt(0), child);
+        parent.children.put(middle.label.charAt(0), middle);
+        return middle;
+    }
+
+    private static void offer(Node node, SuggestionDto suggestion) {
+        List<SuggestionDto> top = node.top;
+        if (top.contains(suggestion)) {
+            return;
+        }
+        if (top.size() == MAX_SUGGESTIONS && BY_RANK.compare(suggestion, top.getLast()) >= 0) {
+            return;
+        }
+        List<SuggestionDto> next = new ArrayList<>(top.size() + 1);
+        next.addAll(top);
+        int index = 0;
+        while (index < next.size() && BY_RANK.compare(next.get(index), suggestion) < 0) {
+            index++;
+        }
+        next.add(index, suggestion);
+        if (next.size() > MAX_SUGGESTIONS) {
+            next.removeLast();
+        }
+        node.top = next;
+    }
+
+    /**
+     * The subtree's best suggestions, from the node's own and the children's lists: any suggestion in the
+     * subtree's top is in the top of the child it lies under.
+     */
+    private static List<SuggestionDto> best(Node node) {
+        Set<SuggestionDto> candidates = new LinkedHashSet<>(node.terminals);
+        node.children.values().forEach(child -> candidates.addAll(child.top));
+        return candidates.stream().sorted(BY_RANK).limit(MAX_SUGGESTIONS).toList();
+    }
+
+    /**
+     * The normalized text from each of its words on.
+     */
+    private static List<String> keys(String text) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        List<String> keys = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", SearchTokenizer.tokenize(text));
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        // Suggestions whose key ends exactly here
+        private final List<SuggestionDto> terminals = new ArrayList<>(1);
+        // Best suggestions of the subtree; replaced, never modified, so readers can hand out views of it
+        private List<SuggestionDto> top = List.of();
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Aggregate {
+        private final String text;
+        private final SuggestionType type;
+        private int products;
+        private long totalOrders;
+
+        Aggregate(String text, SuggestionType type) {
+            this.text = text;
+            this.type = type;
+        }
+
+        SuggestionDto suggestion() {
+            return new SuggestionDto(text, type, null, totalOrders);
+        }
+    }
+}
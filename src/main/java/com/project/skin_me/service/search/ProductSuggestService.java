@@ -0,0 +1,79 @@
+package com.project.skin_me.service.search;
+
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.project.skin_me.dto.SuggestionDto;
+import com.project.skin_me.enums.ProductStatus;
+import com.project.skin_me.event.ProductChangedEvent;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.service.product.ProductCatalog;
+import com.project.skin_me.service.product.ProductChangeHandler;
+
+/**
+ * Typeahead over the active catalog through a {@link ProductSuggestIndex}, built from the catalog snapshot
+ * at startup and then patched product by product.
+ */
+@Service
+public class ProductSuggestService implements IProductSuggestService, ProductChangeHandler {
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestService.class);
+
+    // Product properties that feed the trie or its ranking
+    private static final Set<String> INDEXED_FIELDS = Set.of("name", "brand", "productType", "totalOrders",
+            "status");
+
+    private final ProductCatalog productCatalog;
+    private final ProductSuggestIndex index = new ProductSuggestIndex();
+    private volatile boolean built;
+
+    public ProductSuggestService(ProductCatalog productCatalog) {
+        this.productCatalog = productCatalog;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Product> products = productCatalog.snapshot().getByStatus(ProductStatus.ACTIVE);
+        index.rebuild(products);
+        built = true;
+        logger.info("Suggestion trie built with {} products", products.size());
+    }
+
+    @Override
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        if (!built) {
+            ensureBuilt();
+        }
+        return index.suggest(prefix, limit);
+    }
+
+    private synchronized void ensureBuilt() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public synchronized void onProductSaved(Product product, ProductChangedEvent event) {
+        if (!built || event.getChangedFields().stream().noneMatch(INDEXED_FIELDS::contains)) {
+            return;
+        }
+        if (product.getStatus() == ProductStatus.ACTIVE) {
+            index.put(product);
+        } else {
+            index.remove(product.getId());
+        }
+    }
+
+    @Override
+    public synchronized void onProductRemoved(Long productId, ProductChangedEvent event) {
+        if (built) {
+            index.remove(productId);
+        }
+    }
+}
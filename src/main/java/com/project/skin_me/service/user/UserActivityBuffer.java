@@ -0,0 +1,93 @@
+package com.project.skin_me.service.user;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The last activity of authenticated users, recorded in memory on each request and written to the user table
+ * every {@code user.activity.flush-interval-ms}, so requests never wait on it. A user seen several times
+ * between two flushes is written once, with the time and address of their latest request. The users of one
+ * flush are written together, as one JDBC batch of per-user updates. As before, only users still marked
+ * online are updated.
+ */
+@Component
+public class UserActivityBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserActivityBuffer.class);
+    private static final int MAX_ROWS_PER_BATCH = 500;
+
+    // A null address leaves the stored one as it is; users who went offline meanwhile are left alone
+    private static final String UPDATE_ACTIVITY = "UPDATE user SET last_activity = ?, "
+            + "last_ip_address = COALESCE(?, last_ip_address) WHERE id = ? AND is_online = true";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Seen> pending = new ConcurrentHashMap<>();
+
+    public UserActivityBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Committed on its own even when flushed from within another transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records that the user was active at {@code at} from {@code ipAddress}, which may be null when unknown.
+     */
+    public void record(Long userId, LocalDateTime at, String ipAddress) {
+        pending.merge(userId, new Seen(at, ipAddress), Seen::then);
+    }
+
+    @Scheduled(fixedDelayString = "${user.activity.flush-interval-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Seen> drained = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            Seen seen = pending.remove(userId);
+            if (seen != null) {
+                drained.put(userId, seen);
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_ACTIVITY,
+                    drained.entrySet(), MAX_ROWS_PER_BATCH, (statement, user) -> {
+                        statement.setTimestamp(1, Timestamp.valueOf(user.getValue().at()));
+                        statement.setString(2, user.getValue().ipAddress());
+                        statement.setLong(3, user.getKey());
+                    }));
+            logger.debug("Flushed activity of {} users", drained.size());
+        } catch (RuntimeException e) {
+            // Kept for the next flush, unless the user has been seen again since
+            drained.forEach((userId, seen) -> pending.merge(userId, seen, (newer, older) -> older.then(newer)));
+            logger.error("Error flushing activity of {} users: {}", drained.size(), e.getMessage(), e);
+        }
+    }
+
+    int pendingUsers() {
+        return pending.size();
+    }
+
+    private record Seen(LocalDateTime at, String ipAddress) {
+
+        private Seen then(Seen next) {
+            LocalDateTime latest = next.at.isAfter(at) ? next.at : at;
+            return new Seen(latest, next.ipAddress != null ? next.ipAddress : ipAddress);
+        }
+    }
+}
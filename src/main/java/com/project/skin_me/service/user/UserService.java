@@ -2,8 +2,10 @@ package com.project.skin_me.service.user;
 
 import com.project.skin_me.dto.UserDto;
 import com.project.skin_me.enums.ActivityType;
+import com.project.skin_me.event.UserChangedEvent;
 import com.project.skin_me.exception.AlreadyExistsException;
 import com.project.skin_me.exception.ResourceNotFoundException;
+import com.project.skin_me.mapper.UserMapper;
 import com.project.skin_me.model.Activity;
 import com.project.skin_me.model.Role;
 import com.project.skin_me.model.User;
@@ -12,10 +14,12 @@ import com.project.skin_me.repository.RoleRepository;
 import com.project.skin_me.repository.UserRepository;
 import com.project.skin_me.request.CreateUserRequest;
 import com.project.skin_me.request.UserUpdateRequest;
+import com.project.skin_me.service.activity.ActivityLogWriter;
+import com.project.skin_me.service.presence.PresenceService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -26,6 +30,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,9 +40,12 @@ public class UserService implements IUserService {
 
     private final UserRepository userRepository;
     private final ActivityRepository activityRepository;
+    private final ActivityLogWriter activityLog;
     private final RoleRepository roleRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PresenceService presenceService;
 
     @Override
     public User getUserById(Long userId) {
@@ -97,12 +105,7 @@ public class UserService implements IUserService {
         User savedUser = userRepository.save(newUser);
 
         // 6. Activity log (optional – you already have registerUser that does this)
-        Activity activity = new Activity();
-        activity.setUser(savedUser);
-        activity.setActivityType(ActivityType.REGISTER);
-        activity.setTimestamp(LocalDateTime.now());
-        activity.setDetails("Admin created user: " + request.getEmail());
-        activityRepository.save(activity);
+        activityLog.append(savedUser.getId(), ActivityType.REGISTER, "Admin created user: " + request.getEmail());
 
         return savedUser;
     }
@@ -139,11 +142,15 @@ public class UserService implements IUserService {
     @Transactional
     public User updateUser(UserUpdateRequest request, Long userId) {
         return userRepository.findById(userId).map(existingUser -> {
+            String previousEmail = existingUser.getEmail();
+            Set<String> changedFields = new HashSet<>();
             if (request.getFirstName() != null) {
                 existingUser.setFirstName(request.getFirstName());
+                changedFields.add("firstName");
             }
             if (request.getLastName() != null) {
                 existingUser.setLastName(request.getLastName());
+                changedFields.add("lastName");
             }
             if (request.getEmail() != null) {
                 // Check if email is already taken by another user
@@ -152,14 +159,20 @@ public class UserService implements IUserService {
                     throw new AlreadyExistsException("Email already exists: " + request.getEmail());
                 }
                 existingUser.setEmail(request.getEmail());
+                changedFields.add("email");
             }
             if (request.getPassword() != null && !request.getPassword().isEmpty()) {
                 existingUser.setPassword(passwordEncoder.encode(request.getPassword()));
+                changedFields.add("password");
             }
             if (request.getEnabled() != null) {
                 existingUser.setEnabled(request.getEnabled());
+                changedFields.add("enabled");
             }
-            return userRepository.save(existingUser);
+            User savedUser = userRepository.save(existingUser);
+            eventPublisher.publishEvent(new UserChangedEvent(this, userId, changedFields,
+                    previousEmail, savedUser.getEmail()));
+            return savedUser;
         }).orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
     }
 
@@ -175,14 +188,12 @@ public class UserService implements IUserService {
         }
         user.getRoles().add(role);
         
-        Activity activity = new Activity();
-        activity.setUser(user);
-        activity.setActivityType(ActivityType.REGISTER);
-        activity.setTimestamp(LocalDateTime.now());
-        activity.setDetails("Role " + roleName + " assigned to user: " + user.getEmail());
-        activityRepository.save(activity);
+        activityLog.append(user.getId(), ActivityType.REGISTER,
+                "Role " + roleName + " assigned to user: " + user.getEmail());
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(this, userId, Set.of("roles"), savedUser.getEmail()));
+        return savedUser;
     }
 
     @Override
@@ -196,27 +207,26 @@ public class UserService implements IUserService {
             user.getRoles().remove(role);
         }
         
-        Activity activity = new Activity();
-        activity.setUser(user);
-        activity.setActivityType(ActivityType.REGISTER);
-        activity.setTimestamp(LocalDateTime.now());
-        activity.setDetails("Role " + roleName + " removed from user: " + user.getEmail());
-        activityRepository.save(activity);
+        activityLog.append(user.getId(), ActivityType.REGISTER,
+                "Role " + roleName + " removed from user: " + user.getEmail());
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(this, userId, Set.of("roles"), savedUser.getEmail()));
+        return savedUser;
     }
 
     @Override
     @Transactional
     public void deleteUser(Long userId) {
-        userRepository.findById(userId)
-                .ifPresentOrElse(userRepository::delete,
-                        () -> { throw new ResourceNotFoundException("User not found with ID: " + userId); });
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(this, userId, UserChangedEvent.DELETED, user.getEmail()));
     }
 
     @Override
     public UserDto convertUserToDto(User user) {
-        return modelMapper.map(user, UserDto.class);
+        return userMapper.toDto(user);
     }
 
     @Override
@@ -234,7 +244,7 @@ public class UserService implements IUserService {
 
     @Override
     public boolean isUserOnline(Long userId) {
-        return userRepository.findById(userId).map(User::isOnline).orElse(false);
+        return presenceService.isOnline(userId);
     }
 
     @Override
@@ -244,11 +254,6 @@ public class UserService implements IUserService {
             throw new IllegalArgumentException("Order details cannot be empty");
         }
         User user = getUserById(userId);
-        Activity activity = new Activity();
-        activity.setUser(user);
-        activity.setActivityType(ActivityType.PURCHASE);
-        activity.setTimestamp(LocalDateTime.now());
-        activity.setDetails("Purchase made: " + orderDetails);
-        activityRepository.save(activity);
+        activityLog.append(user.getId(), ActivityType.PURCHASE, "Purchase made: " + orderDetails);
     }
 }
@@ -0,0 +1,127 @@
+package com.project.skin_me.controller;
+
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
+import com.project.skin_me.service.image.IImageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ImageControllerTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String VERSION = HASH.substring(0, 16);
+
+    private IImageService imageService;
+    private MockMvc mockMvc;
+    private ImageMetadataDto image;
+
+    @BeforeEach
+    void setUp() {
+        imageService = mock(IImageService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ImageController(imageService))
+                .addPlaceholderValue("api.prefix", "/api/v1")
+                .build();
+
+        image = new ImageMetadataDto(1L, 1L, "packshot.png", "image/png", 10L, null, HASH,
+                LocalDateTime.of(2026, 1, 1, 12, 0), null);
+        when(imageService.getImageMetadata(1L)).thenReturn(image);
+        when(imageService.getImageContent(image))
+                .thenReturn(new ByteArrayResource("0123456789".getBytes(StandardCharsets.UTF_8)));
+        when(imageService.isCurrentVersion(any(), any())).thenReturn(false);
+        when(imageService.isCurrentVersion(image, VERSION)).thenReturn(true);
+    }
+
+    @Test
+    void versionedDownloadIsImmutable() throws Exception {
+        mockMvc.perform(get("/api/v1/images/image/download/1").param("v", VERSION))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("inline")))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void unversionedDownloadMustRevalidate() throws Exception {
+        mockMvc.perform(get("/api/v1/images/image/download/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")));
+    }
+
+    @Test
+    void matchingETagReturnsNotModifiedWithoutReadingContent() throws Exception {
+        mockMvc.perform(get("/api/v1/images/image/download/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(imageService, never()).getImageContent(any());
+    }
+
+    @Test
+    void staleETagReturnsContent() throws Exception {
+        mockMvc.perform(get("/api/v1/images/image/download/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk());
+
+        verify(imageService).getImageContent(eq(image));
+    }
+
+    @Test
+    void rangeRequestReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/v1/images/image/download/1").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void generatedVariantIsServedWithItsOwnETag() throws Exception {
+        when(imageService.getImageVariant(image, ImageVariant.THUMB))
+                .thenReturn(Optional.of(new ByteArrayResource("thumb".getBytes(StandardCharsets.UTF_8))));
+
+        mockMvc.perform(get("/api/v1/images/image/download/1").param("v", VERSION).param("variant", "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "-thumb\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(content().string("thumb"));
+
+        verify(imageService, never()).getImageContent(any());
+    }
+
+    @Test
+    void missingVariantFallsBackToOriginalWithoutLongLivedCaching() throws Exception {
+        mockMvc.perform(get("/api/v1/images/image/download/1").param("v", VERSION).param("variant", "card"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void unknownVariantIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/images/image/download/1").param("variant", "huge"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.skin_me.controller;
+
+import com.project.skin_me.dto.ProductDto;
+import com.project.skin_me.dto.ProductPageDto;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.request.ProductPageRequest;
+import com.project.skin_me.service.product.IProductService;
+import com.project.skin_me.service.search.IProductSearchService;
+import com.project.skin_me.service.search.IProductSuggestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductControllerTest {
+
+    private IProductService productService;
+    private MockMvc mockMvc;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(IProductService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService,
+                        mock(IProductSearchService.class), mock(IProductSuggestService.class)))
+                .addPlaceholderValue("api.prefix", "/api/v1")
+                .build();
+
+        products = List.of(new Product(), new Product());
+        ProductDto dto = new ProductDto();
+        dto.setId(1L);
+        when(productService.getAllProducts()).thenReturn(products);
+        when(productService.getConvertedProducts(products)).thenReturn(List.of(dto, dto));
+        when(productService.getConvertedPage(eq(products), any()))
+                .thenReturn(new ProductPageDto(List.of(dto), 1L));
+    }
+
+    @Test
+    void listingWithoutPagingParametersKeepsThePlainList() throws Exception {
+        mockMvc.perform(get("/api/v1/products/all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isArray())
+                .andExpect(jsonPath("$.data.length()").value(2));
+
+        verify(productService, never()).getConvertedPage(any(), any());
+    }
+
+    @Test
+    void anyPagingParameterReturnsAPage() throws Exception {
+        mockMvc.perform(get("/api/v1/products/all").param("sort", "price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.products.length()").value(1))
+                .andExpect(jsonPath("$.data.nextCursor").value(1));
+
+        ArgumentCaptor<ProductPageRequest> page = ArgumentCaptor.forClass(ProductPageRequest.class);
+        verify(productService).getConvertedPage(eq(products), page.capture());
+        assertThat(page.getValue().getSort()).isEqualTo("price");
+        assertThat(page.getValue().getLimit()).isNull();
+    }
+}
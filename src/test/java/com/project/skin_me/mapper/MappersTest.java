@@ -0,0 +1,110 @@
+package com.project.skin_me.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.skin_me.dto.OrderDto;
+import com.project.skin_me.dto.PopularProductDto;
+import com.project.skin_me.dto.ProductDto;
+import com.project.skin_me.dto.UserDto;
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.OrderItem;
+import com.project.skin_me.model.PopularProduct;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.model.Role;
+import com.project.skin_me.model.User;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written mappers must produce the JSON the ModelMapper conversion they replace produced.
+ */
+class MappersTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void productMatchesModelMapper() throws Exception {
+        Product product = product();
+
+        ProductDto dto = new ProductMapper().toDto(product);
+
+        assertThat(json(dto)).isEqualTo(json(modelMapper.map(product, ProductDto.class)));
+        assertThat(dto.getCategory()).isSameAs(product.getCategory());
+    }
+
+    @Test
+    void orderWithItemsMatchesModelMapper() throws Exception {
+        Order order = new Order();
+        order.setOrderId(5L);
+        order.setOrderDate(LocalDate.of(2024, 2, 2));
+        order.setOrderTotalAmount(new BigDecimal("31.50"));
+        order.setOrderStatus(OrderStatus.PAID);
+        order.setUser(user());
+        order.getOrderItems().add(new OrderItem(order, product(), 2, BigDecimal.TEN));
+
+        assertThat(json(new OrderMapper().toDto(order))).isEqualTo(json(modelMapper.map(order, OrderDto.class)));
+    }
+
+    @Test
+    void popularProductMatchesModelMapperWithProductDetails() throws Exception {
+        PopularProduct popularProduct = new PopularProduct();
+        popularProduct.setQuantitySold(12);
+        popularProduct.setLastPurchasedDate(LocalDateTime.of(2024, 3, 3, 10, 0));
+        popularProduct.setProduct(product());
+
+        PopularProductDto expected = modelMapper.map(popularProduct, PopularProductDto.class);
+        expected.setName("Serum");
+        expected.setPrice(BigDecimal.TEN);
+        expected.setBrand("Lumi");
+
+        assertThat(json(new PopularProductMapper().toDto(popularProduct))).isEqualTo(json(expected));
+    }
+
+    @Test
+    void userMatchesModelMapperAndListsRoleNames() throws Exception {
+        User user = user();
+
+        UserDto dto = new UserMapper().toDto(user);
+
+        // ModelMapper turned each Role into its toString(); the names are what clients need
+        assertThat(dto.getRoles()).containsExactly("ROLE_USER");
+        UserDto expected = modelMapper.map(user, UserDto.class);
+        expected.setRoles(dto.getRoles());
+        assertThat(json(dto)).isEqualTo(json(expected));
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    private static Product product() {
+        Category category = new Category("Face");
+        category.setId(3L);
+        Product product = new Product("Serum", "Lumi", BigDecimal.TEN, "Serum", 4, "Light", "Twice a day", category);
+        product.setId(7L);
+        return product;
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(9L);
+        user.setFirstName("Sok");
+        user.setLastName("Dara");
+        user.setEmail("dara@example.com");
+        user.setRegistrationDate(LocalDateTime.of(2024, 1, 1, 8, 30));
+        user.setIsOnline(true);
+        Role role = new Role("ROLE_USER");
+        role.setId(1L);
+        user.getRoles().add(role);
+        return user;
+    }
+}
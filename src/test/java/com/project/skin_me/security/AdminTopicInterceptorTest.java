@@ -0,0 +1,68 @@
+package com.project.skin_me.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.security.Principal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class AdminTopicInterceptorTest {
+
+    private static final Principal ADMIN = UsernamePasswordAuthenticationToken.authenticated("admin@example.com",
+            null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+    private static final Principal CUSTOMER = UsernamePasswordAuthenticationToken.authenticated("dara@example.com",
+            null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+    private final AdminTopicInterceptor interceptor = new AdminTopicInterceptor("/topic/presence");
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @Test
+    void onlyAdministratorsMaySubscribe() {
+        Message<?> subscribe = message(StompCommand.SUBSCRIBE, "/topic/presence", ADMIN);
+        assertThat(interceptor.preSend(subscribe, channel)).isSameAs(subscribe);
+
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SUBSCRIBE, "/topic/presence", CUSTOMER),
+                channel)).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SUBSCRIBE, "/topic/presence", null),
+                channel)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void patternsCoveringTheTopicAreRefusedToo() {
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SUBSCRIBE, "/topic/**", CUSTOMER),
+                channel)).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SUBSCRIBE, "/topic/pres*", null),
+                channel)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void otherTopicsStayOpen() {
+        Message<?> subscribe = message(StompCommand.SUBSCRIBE, "/topic/products", null);
+
+        assertThat(interceptor.preSend(subscribe, channel)).isSameAs(subscribe);
+    }
+
+    @Test
+    void noClientMaySendToTheTopic() {
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SEND, "/topic/presence", ADMIN),
+                channel)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    private static Message<?> message(StompCommand command, String destination, Principal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
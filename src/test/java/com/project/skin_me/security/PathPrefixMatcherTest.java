@@ -0,0 +1,51 @@
+package com.project.skin_me.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PathPrefixMatcherTest {
+
+    @Test
+    void exactPatternMatchesOnlyThatPath() {
+        PathPrefixMatcher matcher = PathPrefixMatcher.of("/login-page", "/");
+
+        assertThat(matcher.matches("/login-page")).isTrue();
+        assertThat(matcher.matches("/")).isTrue();
+        assertThat(matcher.matches("/login-page/")).isFalse();
+        assertThat(matcher.matches("/login")).isFalse();
+        assertThat(matcher.matches("/dashboard")).isFalse();
+    }
+
+    @Test
+    void subtreePatternMatchesThePathAndWhateverIsBelowIt() {
+        PathPrefixMatcher matcher = PathPrefixMatcher.of("/api/v1/products/**", "/api/v1/auth/**");
+
+        assertThat(matcher.matches("/api/v1/products")).isTrue();
+        assertThat(matcher.matches("/api/v1/products/product/42/product")).isTrue();
+        assertThat(matcher.matches("/api/v1/auth/login")).isTrue();
+        assertThat(matcher.matches("/api/v1/productsearch")).isFalse();
+        assertThat(matcher.matches("/api/v1/carts/my-cart")).isFalse();
+    }
+
+    @Test
+    void prefixPatternMatchesAnyContinuation() {
+        PathPrefixMatcher matcher = PathPrefixMatcher.of("/js*", "/swagger*", "/login-page");
+
+        assertThat(matcher.matches("/js/app.js")).isTrue();
+        assertThat(matcher.matches("/json")).isTrue();
+        assertThat(matcher.matches("/swagger-ui.html")).isTrue();
+        assertThat(matcher.matches("/j")).isFalse();
+        assertThat(matcher.matches("/login-page")).isTrue();
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    void otherWildcardsAreRejected() {
+        assertThatThrownBy(() -> PathPrefixMatcher.of("/api/*/products"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PathPrefixMatcher.of("/api/{id}/**"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
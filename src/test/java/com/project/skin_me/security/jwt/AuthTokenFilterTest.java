@@ -0,0 +1,123 @@
+package com.project.skin_me.security.jwt;
+
+import com.project.skin_me.model.Role;
+import com.project.skin_me.model.User;
+import com.project.skin_me.security.user.ShopUserDetails;
+import com.project.skin_me.security.user.ShopUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthTokenFilterTest {
+
+    private static final String SECRET =
+            "9AH3XncLQ4BxZSypjG5XNpCk+pBsPwSCJVavCQojc4aVD8I79n8pTkc/pD6KlCWSyFPs77q/Czh8ZenHHDkjxA==";
+    private static final long LIFETIME_MS = 60_000;
+
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, (int) LIFETIME_MS);
+    private final ShopUserDetailsService userDetailsService = mock(ShopUserDetailsService.class);
+    private final User user = user();
+    private long now = System.currentTimeMillis() + 5_000;
+    private TokenRevocationList revocations;
+    private AuthTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        revocations = new TokenRevocationList(LIFETIME_MS, () -> now);
+        filter = new AuthTokenFilter(jwtUtils, userDetailsService, revocations);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statefulModeLoadsTheUser() throws Exception {
+        when(userDetailsService.loadUserByUsername("dara@example.com"))
+                .thenReturn(ShopUserDetails.buildUserDetails(user));
+
+        MockHttpServletResponse response = filter(token());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(principal().getFirstName()).isEqualTo("Dara");
+        verify(userDetailsService).loadUserByUsername("dara@example.com");
+    }
+
+    @Test
+    void statelessModeBuildsThePrincipalFromTheClaims() throws Exception {
+        ReflectionTestUtils.setField(filter, "stateless", true);
+
+        MockHttpServletResponse response = filter(token());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(principal().getId()).isEqualTo(3L);
+        assertThat(principal().getEmail()).isEqualTo("dara@example.com");
+        assertThat(principal().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void statelessModeRejectsRevokedTokensUntilTheyWouldHaveExpired() throws Exception {
+        ReflectionTestUtils.setField(filter, "stateless", true);
+        String token = token();
+
+        revocations.revoke(3L);
+        assertThat(filter(token).getStatus()).isEqualTo(401);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+
+        // Later revocations of others prune the entry once the revoked tokens have expired anyway
+        now += LIFETIME_MS + 1_000;
+        revocations.revoke(4L);
+        assertThat(revocations.isRevoked(3L, new Date(0))).isFalse();
+    }
+
+    private MockHttpServletResponse filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/carts/my-cart");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private String token() {
+        ShopUserDetails details = ShopUserDetails.buildUserDetails(user);
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
+        return jwtUtils.generateTokenForUser(authentication);
+    }
+
+    private static ShopUserDetails principal() {
+        return (ShopUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(3L);
+        user.setEmail("dara@example.com");
+        user.setFirstName("Dara");
+        Role role = new Role();
+        role.setName("ROLE_ADMIN");
+        user.setRoles(Set.of(role));
+        return user;
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.skin_me.security.jwt;
+
+import com.project.skin_me.model.Role;
+import com.project.skin_me.model.User;
+import com.project.skin_me.security.user.ShopUserDetails;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilsTest {
+
+    private static final String SECRET =
+            "9AH3XncLQ4BxZSypjG5XNpCk+pBsPwSCJVavCQojc4aVD8I79n8pTkc/pD6KlCWSyFPs77q/Czh8ZenHHDkjxA==";
+
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000);
+
+    @Test
+    void parsedClaimsCarryTheUser() {
+        Claims claims = jwtUtils.parseClaims(jwtUtils.generateTokenForUser(authentication()));
+
+        assertThat(claims.getSubject()).isEqualTo("dara@example.com");
+        assertThat(claims.get("id", Long.class)).isEqualTo(3L);
+        assertThat(claims.get("roles", List.class)).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void expiredTokenIsReportedAsExpired() {
+        String token = new JwtUtils(SECRET, -1_000).generateTokenForUser(authentication());
+
+        assertThatThrownBy(() -> jwtUtils.parseClaims(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void tamperedOrMalformedTokenIsRejected() {
+        String token = jwtUtils.generateTokenForUser(authentication());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtils.parseClaims(tampered)).isInstanceOf(JwtException.class)
+                .isNotInstanceOf(ExpiredJwtException.class);
+        assertThatThrownBy(() -> jwtUtils.parseClaims("not a token")).isInstanceOf(JwtException.class);
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication() {
+        User user = new User();
+        user.setId(3L);
+        user.setEmail("dara@example.com");
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        user.setRoles(Set.of(role));
+        ShopUserDetails details = ShopUserDetails.buildUserDetails(user);
+        return new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.skin_me.security.user;
+
+import com.project.skin_me.event.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserDetailsCacheTest {
+
+    private long now = 1_000;
+    private final UserDetailsCache cache = new UserDetailsCache(3, 60_000, () -> now);
+    private final List<String> loads = new ArrayList<>();
+    private final Function<String, UserDetails> loader = email -> {
+        loads.add(email);
+        return ShopUserDetails.buildUserDetails((long) loads.size(), email, List.of("ROLE_USER"));
+    };
+
+    @Test
+    void repeatedLookupsAreServedFromTheCacheUntilTheyExpire() {
+        UserDetails first = cache.get("dara@example.com", loader);
+
+        assertThat(cache.get("Dara@Example.com", loader)).isSameAs(first);
+        now += 60_001;
+        assertThat(cache.get("dara@example.com", loader)).isNotSameAs(first);
+        assertThat(loads).hasSize(2);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void leastRecentlyUsedUserGoesFirstWhenFull() {
+        cache.get("a@example.com", loader);
+        cache.get("b@example.com", loader);
+        cache.get("c@example.com", loader);
+        cache.get("a@example.com", loader);
+        cache.get("d@example.com", loader);
+
+        assertThat(cache.size()).isEqualTo(3);
+        cache.get("a@example.com", loader);
+        cache.get("b@example.com", loader);
+        assertThat(loads).containsExactly("a@example.com", "b@example.com", "c@example.com", "d@example.com",
+                "b@example.com");
+    }
+
+    @Test
+    void changedUserIsReadAgainUnderEveryEmailItHad() {
+        cache.get("old@example.com", loader);
+        cache.get("other@example.com", loader);
+
+        cache.onUserChanged(new UserChangedEvent(this, 1L, Set.of("email"), "old@example.com", "new@example.com"));
+
+        assertThat(cache.size()).isEqualTo(1);
+        cache.get("old@example.com", loader);
+        assertThat(loads).containsExactly("old@example.com", "other@example.com", "old@example.com");
+    }
+
+    @Test
+    void loadOverlappingAChangeIsNotKept() {
+        cache.get("dara@example.com", email -> {
+            // The user changes while their old details are being read
+            cache.invalidate("dara@example.com");
+            return loader.apply(email);
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        Function<String, UserDetails> missing = email -> {
+            throw new UsernameNotFoundException("User not found");
+        };
+
+        assertThatThrownBy(() -> cache.get("nobody@example.com", missing))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void hitsAndMissesArePublishedAsMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UserDetailsCache measured = new UserDetailsCache(10, 60_000, registry);
+
+        measured.get("dara@example.com", loader);
+        measured.get("dara@example.com", loader);
+        measured.get("dara@example.com", loader);
+
+        assertThat(registry.get("cache.gets").tags("cache", "userDetails", "result", "hit").functionCounter()
+                .count()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tags("cache", "userDetails", "result", "miss").functionCounter()
+                .count()).isEqualTo(1);
+        assertThat(registry.get("cache.size").tags("cache", "userDetails").gauge().value()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,178 @@
+package com.project.skin_me.service.activity;
+
+import com.project.skin_me.enums.ActivityType;
+import com.project.skin_me.model.User;
+import com.project.skin_me.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+// The writer inserts from a thread of its own, so the fixture has to be committed
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ActivityLogWriterTest {
+
+    // Long enough that nothing is written before the test shuts the writer down, unless a batch fills up
+    private static final long MAX_DELAY_MS = 60_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ActivityLogWriter writer;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setEmail("dara@example.com");
+        newUser.setRegistrationDate(LocalDateTime.now());
+        user = userRepository.save(newUser);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.shutdown();
+        jdbcTemplate.update("DELETE FROM activity");
+        jdbcTemplate.update("DELETE FROM user");
+    }
+
+    @Test
+    void appendedActivitiesAreWrittenInBatchesAndOnShutdown() throws InterruptedException {
+        writer = writer(1_000, 50);
+        for (int i = 0; i < 120; i++) {
+            writer.append(user.getId(), ActivityType.LOGIN, "Login " + i);
+        }
+        writer.shutdown();
+
+        assertThat(activityCount()).isEqualTo(120);
+        assertThat(jdbcTemplate.queryForObject("SELECT details FROM activity WHERE details = 'Login 119'",
+                String.class)).isNotNull();
+        assertThat(count("activity.log.appended")).isEqualTo(120);
+        assertThat(count("activity.log.written")).isEqualTo(120);
+        assertThat(meterRegistry.get("activity.log.queued").gauge().value()).isZero();
+    }
+
+    @Test
+    void activitiesBeyondTheCapacityAreDroppedAndCounted() throws InterruptedException {
+        writer = writer(5, 100);
+        awaitWriterIdle();
+        for (int i = 0; i < 8; i++) {
+            writer.append(user.getId(), ActivityType.LOGIN, "Login " + i);
+        }
+        writer.shutdown();
+
+        assertThat(activityCount()).isEqualTo(5);
+        assertThat(dropped("queue-full")).isEqualTo(3);
+        assertThat(count("activity.log.appended")).isEqualTo(5);
+    }
+
+    @Test
+    void activitiesOfRolledBackTransactionsAreNotWritten() throws InterruptedException {
+        writer = writer(1_000, 50);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            writer.append(user.getId(), ActivityType.PURCHASE, "Purchase made: rolled back");
+            status.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> {
+            writer.append(user.getId(), ActivityType.PURCHASE, "Purchase made: committed");
+            // Nothing is queued until the commit
+            assertThat(meterRegistry.get("activity.log.queued").gauge().value()).isZero();
+        });
+        writer.shutdown();
+
+        assertThat(jdbcTemplate.queryForList("SELECT details FROM activity", String.class))
+                .containsExactly("Purchase made: committed");
+    }
+
+    @Test
+    void activityTheDatabaseRefusesDoesNotCostTheRestOfItsBatch() throws InterruptedException {
+        writer = writer(1_000, 50);
+        writer.append(user.getId(), ActivityType.LOGIN, "User logged in from IP: 10.0.0.1");
+        writer.append(user.getId() + 1_000, ActivityType.LOGIN, "Deleted user");
+        writer.append(user.getId(), ActivityType.LOGOUT, "User logged out");
+        writer.shutdown();
+
+        assertThat(activityCount()).isEqualTo(2);
+        assertThat(count("activity.log.written")).isEqualTo(2);
+        assertThat(dropped("write-failed")).isEqualTo(1);
+    }
+
+    @Test
+    void unexpectedFailureCostsOneBatchAndNotTheWriter() throws InterruptedException {
+        JdbcTemplate failingOnce = spy(jdbcTemplate);
+        doThrow(new IllegalStateException("Unexpected")).doCallRealMethod()
+                .when(failingOnce).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        writer = new ActivityLogWriter(failingOnce, transactionManager, meterRegistry, 1_000, 50, MAX_DELAY_MS);
+        awaitWriterIdle();
+        for (int i = 0; i < 50; i++) {
+            writer.append(user.getId(), ActivityType.LOGIN, "Lost " + i);
+        }
+        while (dropped("writer-error") == 0) {
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < 10; i++) {
+            writer.append(user.getId(), ActivityType.LOGIN, "Login " + i);
+        }
+        writer.shutdown();
+
+        assertThat(activityCount()).isEqualTo(10);
+        assertThat(dropped("writer-error")).isEqualTo(50);
+        assertThat(count("activity.log.written")).isEqualTo(10);
+    }
+
+    private ActivityLogWriter writer(int capacity, int batchSize) {
+        return new ActivityLogWriter(jdbcTemplate, transactionManager, meterRegistry, capacity, batchSize,
+                MAX_DELAY_MS);
+    }
+
+    // Until it has found the queue empty once, the writer could take activities off it while the test fills it
+    private static void awaitWriterIdle() throws InterruptedException {
+        while (Thread.getAllStackTraces().keySet().stream().noneMatch(thread ->
+                thread.getName().equals("activity-log-writer") && thread.getState() == Thread.State.TIMED_WAITING)) {
+            Thread.sleep(10);
+        }
+    }
+
+    private int activityCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM activity", Integer.class);
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).functionCounter().count();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("activity.log.dropped").tag("reason", reason).functionCounter().count();
+    }
+}
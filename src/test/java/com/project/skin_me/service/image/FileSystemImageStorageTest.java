@@ -0,0 +1,129 @@
+package com.project.skin_me.service.image;
+
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.model.ImageContent;
+import com.project.skin_me.repository.ImageContentRepository;
+import com.project.skin_me.repository.ImageContentVariantRepository;
+import com.project.skin_me.repository.ImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FileSystemImageStorageTest {
+
+    @TempDir
+    Path rootDir;
+
+    private ImageRepository imageRepository;
+    private FileSystemImageStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        imageRepository = mock(ImageRepository.class);
+        storage = new FileSystemImageStorage(rootDir.toString(), imageRepository,
+                mock(ImageContentRepository.class), mock(ImageContentVariantRepository.class));
+    }
+
+    @Test
+    void storesContentInShardedDirectoryAndClearsBlob() throws Exception {
+        ImageContent image = content("packshot");
+        image.setImage(new byte[]{1, 2, 3});
+
+        store(image, "packshot".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(image.getImage()).isNull();
+        assertThat(image.getStorageKey()).matches("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}");
+        assertThat(image.getStorageKey()).endsWith(image.getContentHash());
+        Path file = rootDir.resolve(image.getStorageKey());
+        assertThat(Files.readString(file)).isEqualTo("packshot");
+        try (var files = Files.list(file.getParent())) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    void identicalContentIsWrittenOnce() throws Exception {
+        ImageContent first = content("packshot");
+        store(first, "packshot".getBytes(StandardCharsets.UTF_8));
+        Path file = rootDir.resolve(first.getStorageKey());
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+        ImageContent second = content("packshot");
+        store(second, "packshot".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(second.getStorageKey()).isEqualTo(first.getStorageKey());
+        assertThat(Files.getLastModifiedTime(file).toMillis()).isZero();
+    }
+
+    @Test
+    void uploadsThatAreNotStoredLeaveNothingBehind() throws Exception {
+        try (StagedUpload upload = storage.stage(new ByteArrayInputStream(new byte[]{1, 2, 3}))) {
+            try (var files = Files.list(rootDir)) {
+                assertThat(files).hasSize(1);
+            }
+        }
+
+        try (var files = Files.list(rootDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void loadsStoredContentAsFileResource() throws Exception {
+        ImageContent image = content("packshot");
+        store(image, "packshot".getBytes(StandardCharsets.UTF_8));
+
+        Resource resource = storage.load(metadata(1L, image.getStorageKey()));
+
+        assertThat(resource).isInstanceOf(FileSystemResource.class);
+        assertThat(resource.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("packshot");
+    }
+
+    @Test
+    void fallsBackToDatabaseForRowsNotYetMigrated() throws Exception {
+        when(imageRepository.findContentById(7L)).thenReturn("legacy".getBytes(StandardCharsets.UTF_8));
+
+        Resource resource = storage.load(metadata(7L, null));
+
+        assertThat(resource.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("legacy");
+    }
+
+    @Test
+    void deleteRemovesFile() throws Exception {
+        ImageContent image = content("x");
+        store(image, new byte[]{1});
+
+        storage.delete(metadata(1L, image.getStorageKey()));
+
+        assertThat(rootDir.resolve(image.getStorageKey())).doesNotExist();
+    }
+
+    private static ImageMetadataDto metadata(Long id, String storageKey) {
+        return new ImageMetadataDto(id, 1L, "image.png", "image/png", 8L, storageKey, null, null, null);
+    }
+
+    private void store(ImageContent content, byte[] bytes) throws Exception {
+        try (StagedUpload upload = storage.stage(new ByteArrayInputStream(bytes))) {
+            storage.store(content, upload);
+        }
+    }
+
+    private static ImageContent content(String text) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        return new ImageContent(HexFormat.of().formatHex(hash), text.length());
+    }
+}
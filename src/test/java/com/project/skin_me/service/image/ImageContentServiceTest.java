@@ -0,0 +1,172 @@
+package com.project.skin_me.service.image;
+
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.model.Image;
+import com.project.skin_me.repository.ImageContentRepository;
+import com.project.skin_me.repository.ImageContentVariantRepository;
+import com.project.skin_me.repository.ImageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Files are deleted after commit, so the transactions here have to really commit
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImageContentServiceTest {
+
+    private static final byte[] PACKSHOT = "packshot".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path rootDir;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private ImageContentRepository imageContentRepository;
+
+    @Autowired
+    private ImageContentVariantRepository imageContentVariantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ImageContentService imageContentService;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        FileSystemImageStorage storage = new FileSystemImageStorage(rootDir.toString(), imageRepository,
+                imageContentRepository, imageContentVariantRepository);
+        imageContentService = new ImageContentService(imageContentRepository, storage, jdbcTemplate,
+                transactionManager);
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM image_content");
+    }
+
+    @Test
+    void contentUploadedAgainBeforeTheReleaseCommitsKeepsItsFile() {
+        Image first = acquire();
+
+        Image second = transaction.execute(status -> {
+            imageContentService.release(metadata(first));
+            return acquire();
+        });
+
+        assertThat(second.getStorageKey()).isEqualTo(first.getStorageKey());
+        assertThat(rootDir.resolve(second.getStorageKey())).hasBinaryContent(PACKSHOT);
+        assertThat(contentRecords()).isEqualTo(1);
+    }
+
+    @Test
+    void lastReleaseDeletesTheFileAfterCommit() {
+        Image image = acquire();
+
+        transaction.executeWithoutResult(status -> {
+            imageContentService.release(metadata(image));
+            assertThat(rootDir.resolve(image.getStorageKey())).exists();
+        });
+
+        assertThat(rootDir.resolve(image.getStorageKey())).doesNotExist();
+        assertThat(contentRecords()).isZero();
+    }
+
+    @Test
+    void failedUploadLeavesNeitherRecordNorFile() {
+        Image image = transaction.execute(status -> {
+            Image acquired = acquire();
+            status.setRollbackOnly();
+            return acquired;
+        });
+
+        assertThat(rootDir.resolve(image.getStorageKey())).doesNotExist();
+        assertThat(contentRecords()).isZero();
+    }
+
+    @Test
+    void concurrentUploadsOfTheSameContentShareOneRecord() throws Exception {
+        CountDownLatch acquired = new CountDownLatch(1);
+        CompletableFuture<Image> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            Image image = acquire();
+            acquired.countDown();
+            // Holds the new record uncommitted while the second upload inserts the same hash
+            sleep(300);
+            return image;
+        }));
+        assertThat(acquired.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Image second = acquire();
+
+        assertThat(first.get(10, TimeUnit.SECONDS).getContent().getId()).isEqualTo(second.getContent().getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT reference_count FROM image_content", Integer.class))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void contentHashIsUnique() {
+        jdbcTemplate.update("INSERT INTO image_content (content_hash, size, reference_count) VALUES ('a', 1, 1)");
+
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO image_content (content_hash, size, reference_count) VALUES ('a', 1, 1)"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private Image acquire() {
+        return transaction.execute(status -> {
+            Image image = new Image();
+            try {
+                imageContentService.acquire(image, new ByteArrayResource(PACKSHOT), PACKSHOT.length);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return image;
+        });
+    }
+
+    private int contentRecords() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM image_content", Integer.class);
+    }
+
+    private static ImageMetadataDto metadata(Image image) {
+        return new ImageMetadataDto(1L, null, "packshot.png", "image/png", (long) PACKSHOT.length,
+                image.getStorageKey(), image.getContentHash(), null, image.getContent().getId());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
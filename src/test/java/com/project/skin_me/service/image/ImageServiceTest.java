@@ -0,0 +1,171 @@
+package com.project.skin_me.service.image;
+
+import com.project.skin_me.dto.ImageDto;
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
+import com.project.skin_me.mapper.ImageMapper;
+import com.project.skin_me.mapper.ProductMapper;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Image;
+import com.project.skin_me.model.ImageContent;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.service.product.ProductCatalog;
+import com.project.skin_me.service.product.ProductService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ImageService.class, ProductService.class, ProductCatalog.class, ProductMapper.class,
+        ImageMapper.class, DatabaseImageStorage.class, ImageContentService.class, ImageVariantGenerator.class})
+class ImageServiceTest {
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category("Toner");
+        entityManager.persist(category);
+        product = new Product("Toner", "Brand", BigDecimal.ONE, "Toner", 5, "description", "how to use", category);
+        entityManager.persist(product);
+        entityManager.flush();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveImagesInsertsEachImageOnce() {
+        List<MultipartFile> files = List.of(
+                new MockMultipartFile("files", "a.png", "image/png", new byte[]{1, 2, 3}),
+                new MockMultipartFile("files", "b.png", "image/png", new byte[]{4, 5}),
+                new MockMultipartFile("files", "c.png", "image/png", new byte[]{6}));
+
+        List<ImageDto> saved = imageService.saveImages(product.getId(), files);
+        entityManager.flush();
+
+        // One image row per file; content records are inserted with plain JDBC, one per distinct file
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(entityManager.createQuery("SELECT COUNT(c) FROM ImageContent c", Long.class).getSingleResult())
+                .isEqualTo(3);
+        assertThat(saved).extracting(ImageDto::getFileName).containsExactly("a.png", "b.png", "c.png");
+    }
+
+    @Test
+    void downloadUrlIsDerivedFromApiPrefixIdAndContentHash() {
+        ImageDto saved = imageService.saveImages(product.getId(),
+                List.of(new MockMultipartFile("files", "a.png", "image/png", new byte[]{1, 2, 3}))).getFirst();
+        entityManager.flush();
+        entityManager.clear();
+
+        Image image = entityManager.find(Image.class, saved.getImageId());
+
+        assertThat(image.getContentHash()).hasSize(64);
+        assertThat(image.getSize()).isEqualTo(3L);
+        assertThat(saved.getDownloadUrl())
+                .isEqualTo("/api/v1/images/image/download/" + image.getId() + "?v=" + image.getContentHash().substring(0, 16))
+                .isEqualTo(productService.convertToDto(image.getProduct()).getImages().getFirst().getDownloadUrl());
+        assertThat(saved.getThumbnailUrl()).isEqualTo(saved.getDownloadUrl() + "&variant=thumb");
+    }
+
+    @Test
+    void updateImageSwapsContentWithoutLoadingTheImageRow() {
+        Long imageId = imageService.saveImages(product.getId(),
+                List.of(new MockMultipartFile("files", "a.png", "image/png", new byte[]{1, 2, 3}))).getFirst().getImageId();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        imageService.updateImage(new MockMultipartFile("file", "b.png", "image/png", new byte[]{4, 5}), imageId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        Image image = entityManager.find(Image.class, imageId);
+        assertThat(image.getFileName()).isEqualTo("b.png");
+        assertThat(image.getSize()).isEqualTo(2L);
+        assertThat(image.getContent().getImage()).isEqualTo(new byte[]{4, 5});
+        // The previous content had no other image and went with the update
+        assertThat(entityManager.createQuery("SELECT COUNT(c) FROM ImageContent c", Long.class).getSingleResult())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void identicalUploadsShareOneContentRow() {
+        byte[] packshot = {7, 7, 7, 7};
+        List<ImageDto> saved = imageService.saveImages(product.getId(), List.of(
+                new MockMultipartFile("files", "front.png", "image/png", packshot),
+                new MockMultipartFile("files", "front-copy.png", "image/png", packshot)));
+        entityManager.flush();
+        entityManager.clear();
+
+        ImageContent content = entityManager.createQuery("SELECT c FROM ImageContent c", ImageContent.class)
+                .getSingleResult();
+        assertThat(content.getReferenceCount()).isEqualTo(2);
+        assertThat(content.getImage()).isEqualTo(packshot);
+
+        imageService.deleteImageById(saved.get(0).getImageId());
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(entityManager.find(ImageContent.class, content.getId()).getReferenceCount()).isEqualTo(1);
+        assertThat(imageService.getImageContent(imageService.getImageMetadata(saved.get(1).getImageId())))
+                .satisfies(resource -> assertThat(resource.getContentAsByteArray()).isEqualTo(packshot));
+
+        imageService.deleteImageById(saved.get(1).getImageId());
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(entityManager.find(ImageContent.class, content.getId())).isNull();
+    }
+
+    @Test
+    void variantsAreKeptWithTheContentAndGoWithIt() throws Exception {
+        Long imageId = imageService.saveImages(product.getId(),
+                List.of(new MockMultipartFile("files", "a.png", "image/png", new byte[]{1, 2, 3}))).getFirst().getImageId();
+        entityManager.flush();
+        ImageMetadataDto image = imageService.getImageMetadata(imageId);
+        assertThat(imageStorage.supportsVariants(image)).isTrue();
+
+        imageStorage.storeVariant(image, ImageVariant.THUMB, new ByteArrayInputStream(new byte[]{9}));
+
+        assertThat(imageStorage.hasVariant(image, ImageVariant.THUMB)).isTrue();
+        assertThat(imageStorage.hasVariant(image, ImageVariant.CARD)).isFalse();
+        assertThat(imageService.getImageVariant(image, ImageVariant.THUMB).orElseThrow().getContentAsByteArray())
+                .isEqualTo(new byte[]{9});
+
+        imageService.deleteImageById(imageId);
+        entityManager.flush();
+        assertThat(entityManager.createQuery("SELECT COUNT(v) FROM ImageContentVariant v", Long.class).getSingleResult())
+                .isZero();
+    }
+}
@@ -0,0 +1,176 @@
+package com.project.skin_me.service.image;
+
+import com.project.skin_me.dto.ImageMetadataDto;
+import com.project.skin_me.enums.ImageVariant;
+import com.project.skin_me.model.ImageContent;
+import com.project.skin_me.repository.ImageContentRepository;
+import com.project.skin_me.repository.ImageContentVariantRepository;
+import com.project.skin_me.repository.ImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class ImageVariantGeneratorTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantGeneratorTest.class);
+
+    // One storefront catalog page: 12 product cards with a 2000x2000 packshot each
+    private static final int PAGE_SIZE = 12;
+    private static final int ORIGINAL_SIZE = 2000;
+
+    @TempDir
+    Path rootDir;
+
+    private FileSystemImageStorage storage;
+    private ImageVariantGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FileSystemImageStorage(rootDir.toString(), mock(ImageRepository.class),
+                mock(ImageContentRepository.class), mock(ImageContentVariantRepository.class));
+        generator = new ImageVariantGenerator(storage, 1, 10);
+    }
+
+    @Test
+    void resizeKeepsAspectRatioWithinMaxDimension() {
+        BufferedImage resized = ImageVariantGenerator.resize(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB),
+                ImageVariant.THUMB.getMaxDimension(), true);
+
+        assertThat(resized.getWidth()).isEqualTo(160);
+        assertThat(resized.getHeight()).isEqualTo(80);
+    }
+
+    @Test
+    void resizeNeverUpscales() {
+        BufferedImage resized = ImageVariantGenerator.resize(new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB),
+                ImageVariant.CARD.getMaxDimension(), false);
+
+        assertThat(resized.getWidth()).isEqualTo(100);
+        assertThat(resized.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    void generatesEveryVariantNextToOriginal() throws Exception {
+        ImageMetadataDto image = storeOriginal(packshot(1), "image/jpeg", "jpeg");
+
+        generator.generate(image);
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            Resource resource = storage.loadVariant(image, variant).orElseThrow();
+            try (InputStream in = resource.getInputStream()) {
+                BufferedImage rendered = ImageIO.read(in);
+                assertThat(Math.max(rendered.getWidth(), rendered.getHeight())).isEqualTo(variant.getMaxDimension());
+            }
+        }
+    }
+
+    @Test
+    void catalogPageServesFarFewerBytesWithCardVariants() throws Exception {
+        long originalBytes = 0;
+        long cardBytes = 0;
+        long thumbBytes = 0;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ImageMetadataDto image = storeOriginal(packshot(i), "image/jpeg", "jpeg");
+            generator.generate(image);
+
+            originalBytes += storage.load(image).contentLength();
+            cardBytes += storage.loadVariant(image, ImageVariant.CARD).orElseThrow().contentLength();
+            thumbBytes += storage.loadVariant(image, ImageVariant.THUMB).orElseThrow().contentLength();
+        }
+
+        logger.info("Bytes per catalog page of {} products: original={} card={} ({}%) thumb={} ({}%)", PAGE_SIZE,
+                originalBytes, cardBytes, String.format("%.1f", 100.0 * cardBytes / originalBytes), thumbBytes,
+                String.format("%.1f", 100.0 * thumbBytes / originalBytes));
+        assertThat(cardBytes).isLessThan(originalBytes / 5);
+        assertThat(thumbBytes).isLessThan(originalBytes / 20);
+    }
+
+    @Test
+    void submitInsideATransactionWaitsForTheCommit() throws Exception {
+        ImageMetadataDto image = storeOriginal(packshot(1), "image/jpeg", "jpeg");
+        ImageStorage spiedStorage = spy(storage);
+        ImageVariantGenerator deferred = new ImageVariantGenerator(spiedStorage, 1, 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            deferred.submit(image);
+            verify(spiedStorage, after(200).never()).load(image);
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(spiedStorage, timeout(10_000).times(ImageVariant.values().length)).storeVariant(eq(image), any(), any());
+        deferred.shutdown();
+    }
+
+    @Test
+    void submitSkipsTypesThatCannotBeResized() {
+        assertThat(ImageVariantGenerator.formatFor("image/webp")).isNull();
+        assertThat(ImageVariantGenerator.formatFor("application/pdf")).isNull();
+        assertThat(ImageVariantGenerator.formatFor("image/png")).isEqualTo("png");
+    }
+
+    private ImageMetadataDto storeOriginal(BufferedImage content, String fileType, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(content, format, out);
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(out.toByteArray());
+        ImageContent image = new ImageContent(HexFormat.of().formatHex(hash), out.size());
+        try (StagedUpload upload = storage.stage(new ByteArrayInputStream(out.toByteArray()))) {
+            storage.store(image, upload);
+        }
+        return new ImageMetadataDto(1L, 1L, "packshot.jpg", fileType, (long) out.size(),
+                image.getStorageKey(), image.getContentHash(), null, null);
+    }
+
+    /**
+     * A synthetic product shot: gradient background, a few shapes and some sensor-like noise so the JPEG
+     * encoder sees photographic content rather than flat colour.
+     */
+    private static BufferedImage packshot(int seed) {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(ORIGINAL_SIZE, ORIGINAL_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        for (int y = 0; y < ORIGINAL_SIZE; y += 8) {
+            graphics.setColor(new Color(200 + y * 55 / ORIGINAL_SIZE, 190, 180 + random.nextInt(20)));
+            graphics.fillRect(0, y, ORIGINAL_SIZE, 8);
+        }
+        for (int i = 0; i < 12; i++) {
+            graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+            graphics.fillOval(random.nextInt(ORIGINAL_SIZE), random.nextInt(ORIGINAL_SIZE), 400, 700);
+        }
+        graphics.dispose();
+        for (int i = 0; i < ORIGINAL_SIZE * ORIGINAL_SIZE / 16; i++) {
+            int x = random.nextInt(ORIGINAL_SIZE);
+            int y = random.nextInt(ORIGINAL_SIZE);
+            image.setRGB(x, y, image.getRGB(x, y) ^ random.nextInt(0x0F0F0F));
+        }
+        return image;
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.skin_me.service.order;
+
+import com.project.skin_me.enums.OrderStatus;
+import com.project.skin_me.event.ProductChangedEvent;
+import com.project.skin_me.mapper.OrderMapper;
+import com.project.skin_me.model.Order;
+import com.project.skin_me.model.OrderItem;
+import com.project.skin_me.model.Payment;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.model.User;
+import com.project.skin_me.repository.OrderRepository;
+import com.project.skin_me.repository.PaymentRepository;
+import com.project.skin_me.repository.ProductRepository;
+import com.project.skin_me.service.cart.ICartService;
+import com.project.skin_me.service.popularProduct.IPopularProductService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceTest {
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final OrderService orderService = new OrderService(mock(OrderRepository.class),
+            mock(ProductRepository.class), paymentRepository, mock(OrderMapper.class), mock(ICartService.class),
+            mock(IPopularProductService.class), eventPublisher);
+
+    @Test
+    void confirmedPaymentPublishesTheStockChangeOfEveryProduct() {
+        Product serum = product(1L, 10);
+        Product toner = product(2L, 5);
+        User user = new User();
+        user.setId(7L);
+        Order order = new Order();
+        order.setUser(user);
+        order.setStripeSessionId("cs_test");
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setOrderItems(Set.of(new OrderItem(order, serum, 3, BigDecimal.TEN),
+                new OrderItem(order, toner, 1, BigDecimal.ONE)));
+        when(paymentRepository.findByTransactionRef("cs_test")).thenReturn(Optional.of(new Payment()));
+
+        orderService.confirmOrderPayment(order);
+
+        ArgumentCaptor<ProductChangedEvent> events = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(ProductChangedEvent::getProductId)
+                .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(events.getAllValues()).allSatisfy(event ->
+                assertThat(event.getChangedFields()).containsExactly("inventory"));
+        assertThat(serum.getInventory()).isEqualTo(7);
+        assertThat(toner.getInventory()).isEqualTo(4);
+    }
+
+    private static Product product(long id, int inventory) {
+        Product product = new Product();
+        product.setId(id);
+        product.setInventory(inventory);
+        return product;
+    }
+}
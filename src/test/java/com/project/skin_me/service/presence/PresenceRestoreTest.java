@@ -0,0 +1,111 @@
+package com.project.skin_me.service.presence;
+
+import com.project.skin_me.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// Restoring writes in a transaction of its own, so the fixture has to be committed
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PresenceRestoreTest {
+
+    private static final int USERS = 100_000;
+    private static final long IDLE_TIMEOUT_MS = 15 * 60_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int expectedOffline;
+    private int expectedOnline;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user");
+    }
+
+    @Test
+    void inactiveUsersAreMarkedOfflineInOneStatementAndTheOthersStayOnline() {
+        seedUsers();
+        PresenceService presence = new PresenceService(userRepository, mock(SimpMessageSendingOperations.class),
+                transactionManager, IDLE_TIMEOUT_MS, 1_000, System::currentTimeMillis);
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        int markedOffline = presence.restore();
+
+        // The offline update and the read of who is left online
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(markedOffline).isEqualTo(expectedOffline).isPositive();
+        assertThat(presence.onlineCount()).isEqualTo(expectedOnline);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user WHERE is_online", Integer.class))
+                .isEqualTo(expectedOnline);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user WHERE NOT is_online AND last_ip_address IS NOT NULL", Integer.class))
+                .isZero();
+    }
+
+    @Test
+    void inactivitySweepIsBackedByTheOnlineActivityIndex() {
+        List<String> columns = jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS "
+                + "WHERE INDEX_NAME = 'IDX_USER_ONLINE_ACTIVITY' ORDER BY ORDINAL_POSITION", String.class);
+
+        assertThat(columns).containsExactly("IS_ONLINE", "LAST_ACTIVITY");
+    }
+
+    // One user in a hundred is online; of those, a third went quiet an hour ago and a few never had activity
+    private void seedUsers() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            boolean online = i % 100 == 0;
+            LocalDateTime lastActivity;
+            if (online && i % 7_000 == 0) {
+                lastActivity = null;
+            } else if (online && i % 3 == 0) {
+                lastActivity = now.minusHours(1);
+            } else {
+                lastActivity = now.minusMinutes(i % 10);
+            }
+            if (online && lastActivity == null || online && lastActivity.isBefore(now.minusMinutes(15))) {
+                expectedOffline++;
+            } else if (online) {
+                expectedOnline++;
+            }
+            rows.add(new Object[]{"user" + i + "@example.com", Timestamp.valueOf(now.minusDays(30)), online,
+                    lastActivity == null ? null : Timestamp.valueOf(lastActivity), online ? "10.0.0.1" : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user (email, enabled, registration_date, is_online, last_activity, "
+                + "last_ip_address) VALUES (?, true, ?, ?, ?, ?)", rows);
+    }
+}
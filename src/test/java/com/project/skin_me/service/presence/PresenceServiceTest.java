@@ -0,0 +1,113 @@
+package com.project.skin_me.service.presence;
+
+import com.project.skin_me.dto.PresenceEventDto;
+import com.project.skin_me.event.UserChangedEvent;
+import com.project.skin_me.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PresenceServiceTest {
+
+    private static final long IDLE_TIMEOUT_MS = 60_000;
+
+    private long now = 1_700_000_000_000L;
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpMessageSendingOperations messagingTemplate = mock(SimpMessageSendingOperations.class);
+    private final PresenceService presence = new PresenceService(userRepository, messagingTemplate,
+            mock(PlatformTransactionManager.class), IDLE_TIMEOUT_MS, 1_000, () -> now);
+
+    @Test
+    void firstRequestJoinsAndIsStoredAndPublishedOnTheNextTick() {
+        presence.touch(7L);
+
+        assertThat(presence.isOnline(7L)).isTrue();
+        verifyNoInteractions(userRepository, messagingTemplate);
+        tickAt(now + 1_000);
+
+        verify(userRepository).markOnline(List.of(7L));
+        assertThat(published()).extracting(PresenceEventDto::getUserId, PresenceEventDto::getStatus)
+                .containsExactly(tuple(7L, "JOINED"));
+    }
+
+    @Test
+    void requestsOfAnOnlineUserWriteNothing() {
+        presence.touch(7L);
+        tickAt(now + 1_000);
+        clearInvocations(userRepository, messagingTemplate);
+
+        for (int i = 0; i < 10; i++) {
+            now += 500;
+            presence.touch(7L);
+            presence.tick();
+        }
+
+        verifyNoInteractions(userRepository, messagingTemplate);
+    }
+
+    @Test
+    void idleUserLeavesWithinATickOfTheTimeoutCountedFromTheLastRequest() {
+        long joinedAt = now;
+        presence.touch(7L);
+        tickAt(joinedAt + 30_000);
+        presence.touch(7L);
+
+        tickAt(joinedAt + IDLE_TIMEOUT_MS + 1_000);
+        assertThat(presence.isOnline(7L)).isTrue();
+        verify(userRepository, never()).markOffline(any());
+
+        tickAt(joinedAt + 30_000 + IDLE_TIMEOUT_MS + 1_000);
+        assertThat(presence.isOnline(7L)).isFalse();
+        verify(userRepository).markOffline(List.of(7L));
+        assertThat(published()).extracting(PresenceEventDto::getStatus).containsExactly("JOINED", "LEFT");
+    }
+
+    @Test
+    void loginAndLogoutArePublishedButNotStoredAgain() {
+        presence.loggedIn(3L);
+        tickAt(now + 1_000);
+        presence.loggedOut(3L);
+        tickAt(now + 1_000);
+
+        assertThat(presence.isOnline(3L)).isFalse();
+        verify(userRepository, never()).markOnline(any());
+        verify(userRepository, never()).markOffline(any());
+        assertThat(published()).extracting(PresenceEventDto::getStatus).containsExactly("JOINED", "LEFT");
+    }
+
+    @Test
+    void deletedUserLeaves() {
+        presence.touch(7L);
+
+        presence.onUserChanged(new UserChangedEvent(this, 7L, UserChangedEvent.DELETED, "dara@example.com"));
+
+        assertThat(presence.isOnline(7L)).isFalse();
+        assertThat(presence.onlineCount()).isZero();
+    }
+
+    private void tickAt(long time) {
+        now = time;
+        presence.tick();
+    }
+
+    private List<PresenceEventDto> published() {
+        ArgumentCaptor<PresenceEventDto> events = ArgumentCaptor.forClass(PresenceEventDto.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(eq(PresenceService.TOPIC),
+                events.capture());
+        return events.getAllValues();
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.skin_me.service.presence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(1_000, 3, 0);
+
+    @Test
+    void keysComeBackOnceTheirTickHasPassed() {
+        wheel.schedule("soon", 2_500);
+        wheel.schedule("later", 5_000);
+
+        assertThat(wheel.advance(2_999)).isEmpty();
+        assertThat(wheel.advance(3_000)).containsExactly("soon");
+        assertThat(wheel.advance(10_000)).containsExactly("later");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void keysOnHigherLevelsCascadeDownToTheirOwnTick() {
+        wheel.schedule("an hour", 3_600_000);
+        wheel.schedule("two minutes", 120_000);
+        wheel.schedule("past", -5_000);
+
+        assertThat(wheel.advance(1_000)).containsExactly("past");
+        assertThat(wheel.advance(119_000)).isEmpty();
+        assertThat(wheel.advance(120_000)).containsExactly("two minutes");
+        assertThat(wheel.advance(3_599_000)).isEmpty();
+        assertThat(wheel.advance(3_600_000)).containsExactly("an hour");
+    }
+
+    @Test
+    void keysBeyondTheTopLevelWaitAndArePlacedAgain() {
+        // Three levels of 64 one-second slots reach about three days
+        long week = 7 * 24 * 3_600_000L;
+        wheel.schedule("a week", week);
+
+        assertThat(wheel.advance(week - 1_000)).isEmpty();
+        assertThat(wheel.advance(week)).containsExactly("a week");
+    }
+}
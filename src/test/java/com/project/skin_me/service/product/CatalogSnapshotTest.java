@@ -0,0 +1,108 @@
+package com.project.skin_me.service.product;
+
+import com.project.skin_me.enums.ProductSort;
+import com.project.skin_me.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogSnapshotTest {
+
+    private static final int CATALOG_SIZE = 20_000;
+
+    @Test
+    void keysetPagesVisitEveryProductOnceInOrder() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, catalog(CATALOG_SIZE));
+        List<Product> sorted = snapshot.sorted(snapshot.getProducts(), ProductSort.PRICE, true);
+
+        List<Product> visited = new ArrayList<>();
+        Long after = null;
+        do {
+            int start = snapshot.seek(sorted, ProductSort.PRICE, true, after);
+            List<Product> page = sorted.subList(start, Math.min(sorted.size(), start + 500));
+            visited.addAll(page);
+            after = page.isEmpty() ? null : page.getLast().getId();
+        } while (after != null && visited.size() < CATALOG_SIZE);
+
+        assertThat(visited).hasSize(CATALOG_SIZE);
+        assertThat(visited).isSortedAccordingTo(ProductSort.PRICE.comparator(true));
+        Set<Long> ids = new HashSet<>();
+        visited.forEach(product -> ids.add(product.getId()));
+        assertThat(ids).hasSize(CATALOG_SIZE);
+    }
+
+    @Test
+    void sortedViewIsMadeOncePerSnapshot() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, catalog(100));
+
+        List<Product> byName = snapshot.sorted(snapshot.getByBrand("brand 1"), ProductSort.NAME, false);
+
+        assertThat(snapshot.sorted(snapshot.getByBrand("brand 1"), ProductSort.NAME, false)).isSameAs(byName);
+        assertThat(snapshot.sorted(snapshot.getProducts(), ProductSort.ID, false)).isSameAs(snapshot.getProducts());
+    }
+
+    @Test
+    void listsBuiltPerCallAreSortedButNotKept() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, catalog(100));
+        for (int i = 0; i < 1_000; i++) {
+            // Like a filter result: a new list on every call
+            List<Product> perCall = new ArrayList<>(snapshot.getByBrand("Brand " + i % 7));
+            assertThat(snapshot.sorted(perCall, ProductSort.PRICE, false))
+                    .isSortedAccordingTo(ProductSort.PRICE.comparator(false))
+                    .isNotSameAs(snapshot.sorted(perCall, ProductSort.PRICE, false));
+        }
+
+        // The snapshot's own lists are still sorted once
+        List<Product> byPrice = snapshot.sorted(snapshot.getProducts(), ProductSort.PRICE, false);
+        assertThat(snapshot.sorted(snapshot.getProducts(), ProductSort.PRICE, false)).isSameAs(byPrice);
+    }
+
+    @Test
+    void cursorKeepsItsPlaceWhenProductMovesBetweenPages() {
+        List<Product> products = catalog(10);
+        CatalogSnapshot first = CatalogSnapshot.of(1, products);
+        List<Product> byPrice = first.sorted(first.getProducts(), ProductSort.PRICE, false);
+        Product cursor = byPrice.get(4);
+
+        Product repriced = product(cursor.getId(), BigDecimal.valueOf(1_000));
+        CatalogSnapshot second = first.with(2, repriced);
+        List<Product> sorted = second.sorted(second.getProducts(), ProductSort.PRICE, false);
+
+        assertThat(second.seek(sorted, ProductSort.PRICE, false, cursor.getId())).isEqualTo(sorted.size());
+    }
+
+    @Test
+    void unknownCursorIsRejectedUnlessSortedById() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, catalog(10));
+        List<Product> products = snapshot.getProducts();
+
+        assertThat(snapshot.seek(products, ProductSort.ID, false, 4_000L)).isEqualTo(products.size());
+        assertThatThrownBy(() -> snapshot.seek(snapshot.sorted(products, ProductSort.NAME, false),
+                ProductSort.NAME, false, 4_000L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Product> catalog(int size) {
+        List<Product> products = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            // Few distinct prices, so the id tie-break decides most of the order
+            products.add(product(id, BigDecimal.valueOf(id * 7919 % 50)));
+        }
+        return products;
+    }
+
+    private static Product product(long id, BigDecimal price) {
+        Product product = new Product("Product " + (id * 31 % 1000), "Brand " + id % 7, price, "Serum", 1,
+                null, null, null);
+        product.setId(id);
+        product.setTotalOrders((int) (id % 13));
+        return product;
+    }
+}
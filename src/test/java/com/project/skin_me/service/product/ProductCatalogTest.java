@@ -0,0 +1,242 @@
+package com.project.skin_me.service.product;
+
+import com.project.skin_me.dto.ProductDto;
+import com.project.skin_me.dto.ProductPageDto;
+import com.project.skin_me.enums.ProductSort;
+import com.project.skin_me.enums.ProductStatus;
+import com.project.skin_me.mapper.ImageMapper;
+import com.project.skin_me.mapper.ProductMapper;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.repository.CategoryRepository;
+import com.project.skin_me.repository.ProductRepository;
+import com.project.skin_me.event.ProductUpdatedEvent;
+import com.project.skin_me.request.AddProductRequest;
+import com.project.skin_me.request.ProductFilterRequest;
+import com.project.skin_me.request.ProductPageRequest;
+import com.project.skin_me.request.ProductUpdateRequest;
+import com.project.skin_me.service.category.CategoryService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The catalog loads in a transaction of its own, so the fixture has to be committed
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductService.class, ProductCatalog.class, ProductChangeDispatcher.class, ProductMapper.class,
+        ImageMapper.class, CategoryService.class})
+class ProductCatalogTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ProductChangeDispatcher productChangeDispatcher;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Category serum;
+
+    @BeforeEach
+    void setUp() {
+        serum = new Category("Serum");
+        Category toner = new Category("Toner");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.persist(serum);
+            entityManager.persist(toner);
+            entityManager.persist(new Product("Glow Serum", "Lumi", BigDecimal.TEN, "Serum", 5, "d", "h", serum));
+            entityManager.persist(new Product("Night Serum", "Lumi", BigDecimal.TEN, "Serum", 5, "d", "h", serum));
+            entityManager.persist(new Product("Rose Toner", "Petal", BigDecimal.ONE, "Toner", 5, "d", "h", toner));
+            Product retired = new Product("Old Toner", "Petal", BigDecimal.ONE, "Toner", 5, "d", "h", toner);
+            retired.setStatus(ProductStatus.INACTIVE);
+            entityManager.persist(retired);
+        });
+        productCatalog.refresh();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void listingReadsNeverReachTheDatabase() {
+        assertThat(productService.getAllProducts()).hasSize(4);
+        assertThat(productService.getActiveProducts()).hasSize(3);
+        assertThat(productService.getProductsByBrand("Lumi")).hasSize(2);
+        assertThat(productService.getProductsByProductType("Toner")).hasSize(2);
+        assertThat(productService.getAllProductsByCategory("Serum")).hasSize(2);
+        assertThat(productService.getProductsByBrandAndName("Petal", "Rose Toner")).hasSize(1);
+        assertThat(productService.countProductsByBrandAndName("Lumi", "Rose Toner")).isZero();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void lookupsIgnoreCaseLikeTheDatabaseCollation() {
+        assertThat(productService.getProductsByBrand("lumi"))
+                .extracting(Product::getName)
+                .containsExactly("Glow Serum", "Night Serum");
+        assertThat(productService.getProductsByCategoryAndBrand("SERUM", "Lumi")).hasSize(2);
+        assertThat(productService.getProductsByProductTypeAndName("toner", "old toner")).hasSize(1);
+        assertThat(productService.getProductsByBrand("Unknown")).isEmpty();
+    }
+
+    @Test
+    void productChangeRebuildsSnapshotWithNewVersion() {
+        long version = productCatalog.snapshot().getVersion();
+
+        AddProductRequest request = new AddProductRequest();
+        request.setName("Calm Serum");
+        request.setBrand("Lumi");
+        request.setPrice(BigDecimal.TEN);
+        request.setProductType("Serum");
+        request.setCategory(serum);
+        // The snapshot is rebuilt once the transaction commits
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productService.addProduct(request);
+            assertThat(productCatalog.snapshot().getVersion()).isEqualTo(version);
+        });
+
+        assertThat(productCatalog.snapshot().getVersion()).isGreaterThan(version);
+        assertThat(productService.getProductsByBrand("Lumi")).hasSize(3);
+    }
+
+    @Test
+    void singleProductChangeLoadsOnlyThatProduct() {
+        CatalogSnapshot before = productCatalog.snapshot();
+        Product glow = productService.getProductsByName("Glow Serum").getFirst();
+
+        productChangeDispatcher.onProductChange(new ProductUpdatedEvent(this, glow.getId(), Set.of("price")));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        CatalogSnapshot after = productCatalog.snapshot();
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + 1);
+        assertThat(after.getById(glow.getId())).isNotSameAs(glow);
+        // Index lists the product is not in are shared, not rebuilt
+        assertThat(after.getByBrand("Petal")).isSameAs(before.getByBrand("Petal"));
+        assertThat(after.getByProductType("Toner")).isSameAs(before.getByProductType("Toner"));
+    }
+
+    @Test
+    void updateMovesProductBetweenIndexes() {
+        Product rose = productService.getProductsByName("Rose Toner").getFirst();
+        ProductUpdateRequest request = new ProductUpdateRequest();
+        request.setName(rose.getName());
+        request.setBrand("Lumi");
+        request.setPrice(rose.getPrice());
+        request.setProductType(rose.getProductType());
+        request.setInventory(rose.getInventory());
+        request.setDescription(rose.getDescription());
+        request.setHowToUse(rose.getHowToUse());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                productService.updateProduct(request, rose.getId()));
+
+        assertThat(productService.getProductsByBrand("Lumi")).extracting(Product::getName)
+                .containsExactly("Glow Serum", "Night Serum", "Rose Toner");
+        assertThat(productService.getProductsByBrand("Petal")).extracting(Product::getName)
+                .containsExactly("Old Toner");
+        assertThat(productService.getAllProducts()).hasSize(4);
+    }
+
+    @Test
+    void listingIsPagedByCursor() {
+        ProductPageRequest request = new ProductPageRequest();
+        request.setLimit(2);
+        request.setSort("name");
+
+        ProductPageDto first = productService.getConvertedPage(productService.getActiveProducts(), request);
+        request.setAfter(first.getNextCursor());
+        ProductPageDto second = productService.getConvertedPage(productService.getActiveProducts(), request);
+
+        assertThat(first.getProducts()).extracting(ProductDto::getName).containsExactly("Glow Serum", "Night Serum");
+        assertThat(second.getProducts()).extracting(ProductDto::getName).containsExactly("Rose Toner");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void sortedFilterRequestsLeaveTheListingCacheWorking() {
+        ProductFilterRequest filter = new ProductFilterRequest();
+        filter.setBrand(List.of("Lumi"));
+        ProductPageRequest request = new ProductPageRequest();
+        request.setSort("price");
+        // More than the snapshot keeps sorted copies of; every filter result is a list of its own
+        for (int i = 0; i < 300; i++) {
+            assertThat(productService.filterProducts(filter, request).getProducts()).hasSize(2);
+        }
+
+        CatalogSnapshot snapshot = productCatalog.snapshot();
+        List<Product> byPrice = snapshot.sorted(productService.getAllProducts(), ProductSort.PRICE, false);
+        assertThat(snapshot.sorted(productService.getAllProducts(), ProductSort.PRICE, false)).isSameAs(byPrice);
+    }
+
+    @Test
+    void renamedCategoryReachesTheSnapshot() {
+        assertThat(productService.getAllProductsByCategory("Serum")).hasSize(2);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                categoryService.updateCategory(new Category("Face Serum"), serum.getId()));
+
+        CatalogSnapshot snapshot = productCatalog.snapshot();
+        assertThat(snapshot.getByCategory("Serum")).isEmpty();
+        assertThat(snapshot.getByCategory("Face Serum"))
+                .extracting(product -> product.getCategory().getName())
+                .containsExactly("Face Serum", "Face Serum");
+    }
+
+    @Test
+    void pageRejectsUnknownSortAndOversizedLimit() {
+        ProductPageRequest request = new ProductPageRequest();
+        request.setSort("rating");
+        assertThatThrownBy(() -> productService.getConvertedPage(productService.getAllProducts(), request))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        request.setSort("price");
+        request.setLimit(ProductPageRequest.MAX_LIMIT + 1);
+        assertThatThrownBy(() -> productService.getConvertedPage(productService.getAllProducts(), request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
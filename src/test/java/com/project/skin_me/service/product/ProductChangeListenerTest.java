@@ -0,0 +1,134 @@
+package com.project.skin_me.service.product;
+
+import com.project.skin_me.event.ProductAddedEvent;
+import com.project.skin_me.event.ProductDeletedEvent;
+import com.project.skin_me.event.ProductUpdatedEvent;
+import com.project.skin_me.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductChangeListenerTest {
+
+    @TempDir
+    Path exportDir;
+
+    private IProductService productService;
+    private ProductChangeListener listener;
+    private Product serum;
+    private Product toner;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(IProductService.class);
+        // Flushed by hand, so the debounce window never elapses during a test
+        listener = new ProductChangeListener(productService, exportDir.toString(), 60_000);
+
+        serum = product(1L);
+        toner = product(2L);
+        Map<Long, String> rows = new LinkedHashMap<>();
+        rows.put(1L, "| 1 | Serum |\n");
+        rows.put(2L, "| 2 | Toner |\n");
+        when(productService.getAllProducts()).thenReturn(List.of(serum, toner));
+        when(productService.toMarkdownRows(List.of(serum, toner))).thenReturn(rows);
+        listener.exportAll();
+        listener.flush();
+        clearInvocations(productService);
+    }
+
+    @Test
+    void updateRendersOnlyTheChangedRow() throws Exception {
+        when(productService.toMarkdownRows(List.of(toner))).thenReturn(Map.of(2L, "| 2 | Toner 2.0 |\n"));
+
+        listener.onProductSaved(toner, new ProductUpdatedEvent(this, 2L, Set.of("name")));
+        listener.flush();
+
+        verify(productService).toMarkdownRows(List.of(toner));
+        verify(productService, never()).getAllProducts();
+        assertThat(catalog()).contains("| 1 | Serum |\n| 2 | Toner 2.0 |\n");
+    }
+
+    @Test
+    void changeToPropertyOutsideTheTableRendersNothing() throws Exception {
+        String before = catalog();
+
+        listener.onProductSaved(serum, new ProductUpdatedEvent(this, 1L, Set.of("description", "howToUse")));
+        listener.flush();
+
+        verify(productService, never()).toMarkdownRows(anyList());
+        assertThat(catalog()).isEqualTo(before);
+    }
+
+    @Test
+    void addedProductIsAppendedAndRemovedProductDropped() throws Exception {
+        Product cream = product(3L);
+        when(productService.toMarkdownRows(List.of(cream))).thenReturn(Map.of(3L, "| 3 | Cream |\n"));
+
+        listener.onProductSaved(cream, new ProductAddedEvent(this, 3L));
+        listener.onProductRemoved(1L, new ProductDeletedEvent(this, 1L));
+        listener.flush();
+
+        assertThat(catalog()).endsWith("| 2 | Toner |\n| 3 | Cream |\n").doesNotContain("Serum");
+    }
+
+    @Test
+    void changesWithinTheWindowAreExportedTogether() throws Exception {
+        Product cream = product(3L);
+        when(productService.toMarkdownRows(List.of(toner, cream)))
+                .thenReturn(Map.of(2L, "| 2 | Toner 2.0 |\n", 3L, "| 3 | Cream |\n"));
+
+        for (int i = 0; i < 50; i++) {
+            listener.onProductSaved(toner, new ProductUpdatedEvent(this, 2L, Set.of("price")));
+        }
+        listener.onProductSaved(cream, new ProductAddedEvent(this, 3L));
+        listener.flush();
+
+        verify(productService).toMarkdownRows(List.of(toner, cream));
+        assertThat(catalog()).endsWith("| 1 | Serum |\n| 2 | Toner 2.0 |\n| 3 | Cream |\n");
+        try (var files = Files.list(exportDir)) {
+            assertThat(files).containsExactly(exportDir.resolve("product-catalog.md"));
+        }
+    }
+
+    @Test
+    void exportRunsOnceTheWindowElapses() throws Exception {
+        ProductChangeListener debounced = new ProductChangeListener(productService, exportDir.resolve("debounced").toString(), 10);
+        when(productService.getAllProducts()).thenReturn(List.of(serum));
+        when(productService.toMarkdownRows(List.of(serum))).thenReturn(Map.of(1L, "| 1 | Serum |\n"));
+
+        debounced.exportAll();
+
+        Path file = exportDir.resolve("debounced").resolve("product-catalog.md");
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!Files.exists(file) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(Files.readString(file)).endsWith("| 1 | Serum |\n");
+        debounced.shutdown();
+    }
+
+    private String catalog() throws Exception {
+        return Files.readString(exportDir.resolve("product-catalog.md"));
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,107 @@
+package com.project.skin_me.service.product;
+
+import com.project.skin_me.enums.ProductFacet;
+import com.project.skin_me.enums.ProductStatus;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductFacetsTest {
+
+    private static final List<String> CATEGORIES = List.of("Face", "Body", "Hair");
+    private static final List<String> BRANDS = List.of("Cerave", "Ordinary", "Cosrx", "Laneige", "Innisfree");
+    private static final List<String> TYPES = List.of("Serum", "Toner", "Cleanser", "Cream");
+
+    private final List<Product> catalog = catalog(5_000);
+    private final ProductFacets facets = CatalogSnapshot.of(1, catalog).facets();
+
+    @Test
+    void combinedFiltersMatchTheSameProductsAsAScan() {
+        Map<ProductFacet, List<String>> selected = Map.of(
+                ProductFacet.CATEGORY, List.of("face"),
+                ProductFacet.BRAND, List.of("Cerave", "COSRX"),
+                ProductFacet.PRODUCT_TYPE, List.of("Serum", "Cream"));
+
+        ProductFacets.Result result = facets.filter(selected, BigDecimal.valueOf(10), BigDecimal.valueOf(30), true);
+
+        List<Product> expected = catalog.stream()
+                .filter(product -> product.getCategory().getName().equals("Face"))
+                .filter(product -> List.of("Cerave", "Cosrx").contains(product.getBrand()))
+                .filter(product -> List.of("Serum", "Cream").contains(product.getProductType()))
+                .filter(product -> product.getPrice().compareTo(BigDecimal.valueOf(10)) >= 0
+                        && product.getPrice().compareTo(BigDecimal.valueOf(30)) <= 0)
+                .filter(product -> product.getInventory() > 0)
+                .toList();
+        assertThat(expected).isNotEmpty();
+        assertThat(result.products()).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void facetCountsIgnoreTheirOwnFilter() {
+        ProductFacets.Result result = facets.filter(Map.of(ProductFacet.BRAND, List.of("Cerave")), null, null, false);
+
+        // Every brand is still counted, over the whole catalog
+        Map<String, Integer> brands = result.counts().get(ProductFacet.BRAND);
+        assertThat(brands).containsOnlyKeys(BRANDS);
+        assertThat(brands.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(catalog.size());
+        // Other facets are counted among the Cerave products only
+        Map<String, Integer> categories = result.counts().get(ProductFacet.CATEGORY);
+        assertThat(categories.values().stream().mapToInt(Integer::intValue).sum())
+                .isEqualTo(result.products().size())
+                .isEqualTo(brands.get("Cerave"));
+        assertThat(result.inStock() + result.outOfStock()).isEqualTo(result.products().size());
+    }
+
+    @Test
+    void priceBoundsAreInclusiveAndChecked() {
+        ProductFacets.Result result = facets.filter(Map.of(), BigDecimal.valueOf(20), BigDecimal.valueOf(20), false);
+
+        assertThat(result.products()).isNotEmpty()
+                .allSatisfy(product -> assertThat(product.getPrice()).isEqualByComparingTo("20"));
+        assertThatThrownBy(() -> facets.filter(Map.of(), BigDecimal.TEN, BigDecimal.ONE, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unknownValueMatchesNothing() {
+        ProductFacets.Result result = facets.filter(Map.of(ProductFacet.BRAND, List.of("Nobody")), null, null, false);
+
+        assertThat(result.products()).isEmpty();
+        assertThat(result.counts().get(ProductFacet.CATEGORY)).isEmpty();
+    }
+
+    @Test
+    void inactiveProductsAreNeitherMatchedNorCounted() {
+        Product inactive = catalog.getFirst();
+        inactive.setStatus(ProductStatus.INACTIVE);
+
+        ProductFacets.Result result = CatalogSnapshot.of(2, catalog).facets()
+                .filter(Map.of(ProductFacet.BRAND, List.of(inactive.getBrand())), null, null, false);
+
+        assertThat(result.products()).isNotEmpty().doesNotContain(inactive);
+        Map<String, Integer> brands = result.counts().get(ProductFacet.BRAND);
+        assertThat(brands.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(catalog.size() - 1);
+        assertThat(brands.get(inactive.getBrand())).isEqualTo(result.products().size());
+    }
+
+    private static List<Product> catalog(int size) {
+        List<Category> categories = CATEGORIES.stream().map(Category::new).toList();
+        List<Product> products = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Product product = new Product("Product " + id, BRANDS.get((int) (id % BRANDS.size())),
+                    BigDecimal.valueOf(id * 7919 % 50), TYPES.get((int) (id / 5 % TYPES.size())),
+                    (int) (id / 7 % 3), null, null, categories.get((int) (id / 20 % categories.size())));
+            product.setId(id);
+            products.add(product);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.skin_me.service.product;
+
+import com.project.skin_me.dto.ProductDto;
+import com.project.skin_me.mapper.ImageMapper;
+import com.project.skin_me.mapper.ProductMapper;
+import com.project.skin_me.model.Category;
+import com.project.skin_me.model.Image;
+import com.project.skin_me.model.Product;
+import com.project.skin_me.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductService.class, ProductCatalog.class, ProductMapper.class, ImageMapper.class})
+class ProductServiceTest {
+
+    private static final int PRODUCT_COUNT = 25;
+    private static final int IMAGES_PER_PRODUCT = 3;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category("Serum");
+        entityManager.persist(category);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = new Product("Product " + i, "Brand " + (i % 4), BigDecimal.TEN,
+                    "Type " + (i % 3), 10, "description", "how to use", category);
+            entityManager.persist(product);
+            for (int j = 0; j < IMAGES_PER_PRODUCT; j++) {
+                Image image = new Image();
+                image.setFileName("image-" + i + "-" + j + ".png");
+                image.setFileType("image/png");
+                image.setImage(new byte[1024]);
+                image.setSize(1024L);
+                image.setProduct(product);
+                entityManager.persist(image);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getConvertedProductsLoadsImagesInSingleQuery() {
+        List<Product> products = productRepository.findAllWithCategory();
+
+        statistics.clear();
+        List<ProductDto> dtos = productService.getConvertedProducts(products);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(dtos).hasSize(PRODUCT_COUNT);
+        assertThat(dtos).allSatisfy(dto -> assertThat(dto.getImages()).hasSize(IMAGES_PER_PRODUCT));
+    }
+
+    @Test
+    void getConvertedProductsNeverLoadsImageEntities() {
+        List<Product> products = productRepository.findAllWithCategory();
+
+        statistics.clear();
+        List<ProductDto> dtos = productService.getConvertedProducts(products);
+
+        // Listing reads image metadata only; no Image entity (and so no LONGBLOB) is materialized
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(dtos.getFirst().getImages()).allSatisfy(image -> {
+            assertThat(image.getImageId()).isNotNull();
+            assertThat(image.getFileName()).startsWith("image-");
+            assertThat(image.getDownloadUrl()).startsWith("/api/v1/images/image/download/");
+        });
+    }
+
+    @Test
+    void toMarkdownTableLinksImagesFromMetadata() {
+        List<Product> products = productRepository.findAllWithCategory();
+
+        statistics.clear();
+        String markdown = productService.toMarkdownTable(products);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(markdown).containsPattern("\\[image-0-0\\.png]\\(/api/v1/images/image/download/\\d+\\)");
+    }
+
+    @Test
+    void getConvertedProductsKeepsProductOrder() {
+        List<Product> products = productRepository.findAllWithCategory().reversed();
+
+        List<ProductDto> dtos = productService.getConvertedProducts(products);
+
+        assertThat(dtos).extracting(ProductDto::getId)
+                .containsExactlyElementsOf(products.stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void getConvertedProductsOfEmptyListIssuesNoQuery() {
+        statistics.clear();
+
+        assertThat(productService.getConvertedProducts(List.of())).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.skin_me.service.search;
+
+import com.project.skin_me.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(List.of(
+                product(1L, "Hydrating Serum", "Lumi", "Serum", "Hyaluronic acid for dry skin", "Apply at night"),
+                product(2L, "Gentle Cleanser", "Petal", "Cleanser", "Removes makeup without drying", "Massage onto damp skin"),
+                product(3L, "Night Cream", "Lumi", "Moisturizer", "Rich cream with ceramides", "Use after the serum"),
+                product(4L, "Crème Solaire", "Soleil", "Sunscreen", "SPF 50 mineral filter", "Reapply every two hours")));
+    }
+
+    @Test
+    void nameMatchOutranksMatchInInstructions() {
+        assertThat(index.search("serum", 10)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void productsMatchingMoreTermsRankFirst() {
+        assertThat(index.search("lumi cream", 10)).first().isEqualTo(3L);
+    }
+
+    @Test
+    void prefixMatchesWhileTyping() {
+        assertThat(index.search("hydr", 10)).containsExactly(1L);
+        assertThat(index.search("clea", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void toleratesTyposAndAccents() {
+        assertThat(index.search("cleanesr", 10)).containsExactly(2L);
+        assertThat(index.search("sunscren", 10)).containsExactly(4L);
+        assertThat(index.search("creme solaire", 10)).first().isEqualTo(4L);
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsProduct() {
+        index.put(product(2L, "Foaming Wash", "Petal", "Cleanser", "", ""));
+        index.remove(1L);
+
+        assertThat(index.search("gentle", 10)).isEmpty();
+        assertThat(index.search("foaming", 10)).containsExactly(2L);
+        assertThat(index.search("hydrating", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void withinEditsStopsAtTheBound() {
+        assertThat(ProductSearchIndex.withinEdits("serum", "serun", 1)).isTrue();
+        assertThat(ProductSearchIndex.withinEdits("serum", "sreun", 1)).isFalse();
+        assertThat(ProductSearchIndex.withinEdits("moisturizer", "moistruiser", 2)).isFalse();
+        assertThat(ProductSearchIndex.withinEdits("moisturizer", "moisturiser", 2)).isTrue();
+    }
+
+    private static Product product(Long id, String name, String brand, String productType, String description,
+            String howToUse) {
+        Product product = new Product(name, brand, BigDecimal.TEN, productType, 1, description, howToUse, null);
+        product.setId(id);
+        return product;
+    }
+}
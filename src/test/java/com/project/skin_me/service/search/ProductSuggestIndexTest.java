@@ -0,0 +1,120 @@
+package com.project.skin_me.service.search;
+
+import com.project.skin_me.dto.SuggestionDto;
+import com.project.skin_me.enums.SuggestionType;
+import com.project.skin_me.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex();
+        index.rebuild(List.of(
+                product(1L, "Hydrating Serum", "Lumi", "Serum", 40),
+                product(2L, "Hydra Boost Gel", "Petal", "Gel", 90),
+                product(3L, "Night Cream", "Lumi", "Moisturizer", 15),
+                product(4L, "Crème Hydratante", "Soleil", "Moisturizer", 5)));
+    }
+
+    @Test
+    void wordsAnywhereInTheTextMatchMostOrderedFirst() {
+        assertThat(texts(index.suggest("hydr", 10)))
+                .containsExactly("Hydra Boost Gel", "Hydrating Serum", "Crème Hydratante");
+        assertThat(texts(index.suggest("serum", 10))).containsExactly("Hydrating Serum", "Serum");
+        assertThat(texts(index.suggest("HYDRATING s", 10))).containsExactly("Hydrating Serum");
+        assertThat(index.suggest("hydrx", 10)).isEmpty();
+    }
+
+    @Test
+    void brandsAndTypesRankByTheOrdersOfAllTheirProducts() {
+        List<SuggestionDto> suggestions = index.suggest("lumi", 10);
+
+        assertThat(suggestions).hasSize(1);
+        assertThat(suggestions.getFirst().getType()).isEqualTo(SuggestionType.BRAND);
+        assertThat(suggestions.getFirst().getTotalOrders()).isEqualTo(55);
+        assertThat(suggestions.getFirst().getProductId()).isNull();
+    }
+
+    @Test
+    void putAndRemovePatchTheTrie() {
+        index.put(product(4L, "Crème Hydratante", "Soleil", "Moisturizer", 500));
+        index.remove(2L);
+
+        assertThat(texts(index.suggest("hydr", 10))).containsExactly("Crème Hydratante", "Hydrating Serum");
+        assertThat(index.suggest("petal", 10)).isEmpty();
+        assertThat(index.suggest("moist", 10).getFirst().getTotalOrders()).isEqualTo(515);
+    }
+
+    @Test
+    void patchedTrieAnswersLikeARebuiltOne() {
+        Random random = new Random(7);
+        String[] vocabulary = vocabulary(random, 200);
+        Map<Long, Product> catalog = new HashMap<>();
+        for (long id = 1; id <= 2_000; id++) {
+            catalog.put(id, product(id, random, vocabulary));
+        }
+        index.rebuild(catalog.values());
+        for (int i = 0; i < 3_000; i++) {
+            long id = 1 + random.nextInt(2_500);
+            if (random.nextInt(4) == 0) {
+                catalog.remove(id);
+                index.remove(id);
+            } else {
+                Product product = product(id, random, vocabulary);
+                catalog.put(id, product);
+                index.put(product);
+            }
+        }
+
+        ProductSuggestIndex rebuilt = new ProductSuggestIndex();
+        rebuilt.rebuild(catalog.values());
+        for (String word : vocabulary) {
+            for (String prefix : List.of(word.substring(0, 1), word.substring(0, 2), word)) {
+                assertThat(index.suggest(prefix, 10)).as(prefix).isEqualTo(rebuilt.suggest(prefix, 10));
+            }
+        }
+    }
+
+    private static List<String> texts(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::getText).toList();
+    }
+
+    private static String[] vocabulary(Random random, int size) {
+        String[] vocabulary = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 3 + random.nextInt(7);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        return vocabulary;
+    }
+
+    private static Product product(long id, Random random, String[] vocabulary) {
+        String name = String.join(" ", vocabulary[random.nextInt(vocabulary.length)],
+                vocabulary[random.nextInt(vocabulary.length)], vocabulary[random.nextInt(vocabulary.length)]);
+        return product(id, name, vocabulary[random.nextInt(50)], vocabulary[random.nextInt(10)],
+                random.nextInt(1_000));
+    }
+
+    private static Product product(Long id, String name, String brand, String productType, int totalOrders) {
+        Product product = new Product(name, brand, BigDecimal.TEN, productType, 1, null, null, null);
+        product.setId(id);
+        product.setTotalOrders(totalOrders);
+        return product;
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.skin_me.service.user;
+
+import com.project.skin_me.model.User;
+import com.project.skin_me.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// The buffer writes in a transaction of its own, so the fixture has to be committed
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(UserActivityBuffer.class)
+class UserActivityBufferTest {
+
+    private static final LocalDateTime LOGIN = LocalDateTime.of(2026, 1, 5, 9, 0);
+
+    @Autowired
+    private UserActivityBuffer activityBuffer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    private User dara;
+    private User noor;
+    private User offline;
+
+    @BeforeEach
+    void setUp() {
+        dara = userRepository.save(user("dara@example.com", true));
+        noor = userRepository.save(user("noor@example.com", true));
+        offline = userRepository.save(user("sam@example.com", false));
+        clearInvocations(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void activityOfManyRequestsIsWrittenInOneBatch() {
+        activityBuffer.record(dara.getId(), LOGIN.plusSeconds(1), "10.0.0.1");
+        activityBuffer.record(noor.getId(), LOGIN.plusSeconds(2), "10.0.0.2");
+        activityBuffer.record(dara.getId(), LOGIN.plusSeconds(3), "10.0.0.1");
+
+        verifyNoInteractions(jdbcTemplate);
+        activityBuffer.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        assertThat(activityBuffer.pendingUsers()).isZero();
+        User reloaded = userRepository.findById(dara.getId()).orElseThrow();
+        assertThat(reloaded.getLastActivity()).isEqualTo(LOGIN.plusSeconds(3));
+        assertThat(reloaded.getLastIpAddress()).isEqualTo("10.0.0.1");
+        // Each user keeps the time and address of their own latest request
+        reloaded = userRepository.findById(noor.getId()).orElseThrow();
+        assertThat(reloaded.getLastActivity()).isEqualTo(LOGIN.plusSeconds(2));
+        assertThat(reloaded.getLastIpAddress()).isEqualTo("10.0.0.2");
+    }
+
+    @Test
+    void unknownAddressKeepsTheLastKnownOne() {
+        activityBuffer.record(dara.getId(), LOGIN.plusSeconds(1), "10.0.0.7");
+        activityBuffer.record(dara.getId(), LOGIN.plusSeconds(2), null);
+        activityBuffer.record(noor.getId(), LOGIN.plusSeconds(2), null);
+        activityBuffer.flush();
+
+        assertThat(userRepository.findById(dara.getId()).orElseThrow().getLastIpAddress()).isEqualTo("10.0.0.7");
+        User reloaded = userRepository.findById(noor.getId()).orElseThrow();
+        assertThat(reloaded.getLastIpAddress()).isEqualTo("10.0.0.9");
+        assertThat(reloaded.getLastActivity()).isEqualTo(LOGIN.plusSeconds(2));
+    }
+
+    @Test
+    void usersWhoWentOfflineAreLeftAlone() {
+        activityBuffer.record(offline.getId(), LOGIN.plusSeconds(1), "10.0.0.1");
+        activityBuffer.flush();
+
+        User reloaded = userRepository.findById(offline.getId()).orElseThrow();
+        assertThat(reloaded.getLastActivity()).isEqualTo(LOGIN);
+        assertThat(reloaded.getLastIpAddress()).isNull();
+    }
+
+    private static User user(String email, boolean online) {
+        User user = new User();
+        user.setEmail(email);
+        user.setRegistrationDate(LOGIN);
+        user.setLastActivity(LOGIN);
+        user.setIsOnline(online);
+        user.setLastIpAddress(online ? "10.0.0.9" : null);
+        return user;
+    }
+}